@@ -0,0 +1,92 @@
+package com.obstacleavoid.benchmarks;
+
+import com.obstacleavoid.collision.Broadphase;
+import com.obstacleavoid.collision.BroadphaseType;
+import com.obstacleavoid.config.GameConfig;
+import com.obstacleavoid.entity.ObstacleStore;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fuerza bruta contra rejilla espacial con 10, 1k y 100k obstaculos.
+ * query: consulta del jugador en su banda, que se deja libre (el peor caso de la fuerza bruta).
+ * sweptQuery: la misma consulta con colision continua a lo largo de un tick.
+ * update: mover todos los obstaculos, incluye mantener la rejilla.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CollisionBenchmark {
+
+    private static final float PLAYER_Y = 1f;
+    private static final float FREE_BAND_TOP = 2.5f;
+    private static final int QUERY_POSITIONS = 1024;
+    private static final float PLAYER_STEP = GameConfig.MAX_PLAYER_X_SPEED * GameConfig.FIXED_DELTA;
+
+    @Param({"10", "1000", "100000"})
+    public int obstacleCount;
+
+    @Param({"BRUTE_FORCE", "SPATIAL_HASH"})
+    public BroadphaseType broadphaseType;
+
+    private ObstacleStore obstacles;
+    private Broadphase broadphase;
+    private final float[] queryX = new float[QUERY_POSITIONS];
+    private int query;
+    private float direction = 1f;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42L);
+        obstacles = new ObstacleStore(obstacleCount);
+        for (int i = 0; i < obstacleCount; i++) {
+            float y = FREE_BAND_TOP + random.nextFloat() * (GameConfig.WORLD_HEIGHT - FREE_BAND_TOP);
+            obstacles.add(random.nextFloat() * GameConfig.WORLD_WIDTH, y,
+                    GameConfig.MEDIUM_OBSTACLE_SPEED, GameConfig.OBSTACLE_BOUNDS_RADIUS);
+        }
+        broadphase = broadphaseType.create(obstacles);
+        // un tick real para que la posicion anterior no coincida con la actual
+        obstacles.savePreviousPositions();
+        obstacles.update(GameConfig.FIXED_DELTA);
+
+        for (int i = 0; i < QUERY_POSITIONS; i++) {
+            queryX[i] = random.nextFloat() * GameConfig.WORLD_WIDTH;
+        }
+    }
+
+    @Benchmark
+    public int query() {
+        query = (query + 1) & (QUERY_POSITIONS - 1);
+        return broadphase.findOverlap(queryX[query], PLAYER_Y, GameConfig.PLAYER_BOUNDS_RADIUS);
+    }
+
+    @Benchmark
+    public int sweptQuery() {
+        query = (query + 1) & (QUERY_POSITIONS - 1);
+        float x = queryX[query];
+        return broadphase.findSweptOverlap(x - PLAYER_STEP, PLAYER_Y, x, PLAYER_Y, GameConfig.PLAYER_BOUNDS_RADIUS);
+    }
+
+    @Benchmark
+    public void update() {
+        // sube y baja para que los obstaculos no salgan nunca de su zona
+        direction = -direction;
+        obstacles.update(direction * GameConfig.FIXED_DELTA);
+    }
+}
@@ -0,0 +1,97 @@
+package com.obstacleavoid.benchmarks;
+
+import com.obstacleavoid.collision.BroadphaseType;
+import com.obstacleavoid.config.DifficultyLevel;
+import com.obstacleavoid.config.GameConfig;
+import com.obstacleavoid.entity.ObstacleStore;
+import com.obstacleavoid.input.PlayerInput;
+import com.obstacleavoid.input.ScriptedPlayerInput;
+import com.obstacleavoid.screen.game.GameController;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GameController.update con N obstaculos vivos, en ns por tick.
+ * El campo se crea una vez por iteracion: obstaculos ordenados por altura hasta la de
+ * aparicion y anadidos en ese orden, como los crearia la partida (el mas antiguo es el mas
+ * bajo y removePassed los va quitando). Cada ROUND_TICKS se vuelve al estado inicial con
+ * readState, antes de que los obstaculos que aparecen lleguen al jugador: el campo no se
+ * vacia y no hay choques. La restauracion queda dentro de la medida, repartida en la ronda.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameControllerBenchmark {
+
+    private static final int ROUND_TICKS = GameConfig.TICKS_PER_SECOND;
+    private static final float PLAYER_COLUMN_HALF_WIDTH = 0.75f;
+
+    @Param({"10", "1000", "10000"})
+    public int obstacleCount;
+
+    @Param({"BRUTE_FORCE", "SPATIAL_HASH"})
+    public BroadphaseType broadphaseType;
+
+    private GameController controller;
+    private ByteBuffer initialState;
+    private int roundTick;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        PlayerInput input = new ScriptedPlayerInput(PlayerInput.NONE);
+        controller = new GameController(input, DifficultyLevel.MEDIUM, broadphaseType);
+
+        Random random = new Random(obstacleCount);
+        float[] ys = new float[obstacleCount];
+        float spawnY = GameConfig.WORLD_HEIGHT + GameConfig.OBSTACLE_SIZE / 2f;
+        for (int i = 0; i < obstacleCount; i++) {
+            ys[i] = random.nextFloat() * spawnY;
+        }
+        Arrays.sort(ys);
+
+        ObstacleStore obstacles = controller.getObstacles();
+        float speed = DifficultyLevel.MEDIUM.getObstacleSpeed();
+        for (int i = 0; i < obstacleCount; i++) {
+            float x = random.nextFloat() * (GameConfig.WORLD_WIDTH - 2 * PLAYER_COLUMN_HALF_WIDTH);
+            if (x > GameConfig.WORLD_CENTER_X - PLAYER_COLUMN_HALF_WIDTH) {
+                x += 2 * PLAYER_COLUMN_HALF_WIDTH;
+            }
+            obstacles.add(x, ys[i], speed, GameConfig.OBSTACLE_BOUNDS_RADIUS);
+        }
+
+        initialState = ByteBuffer.allocate(controller.getStateSize());
+        controller.writeState(initialState);
+        roundTick = 0;
+    }
+
+    @Benchmark
+    public int update() {
+        if (roundTick == ROUND_TICKS) {
+            initialState.rewind();
+            controller.readState(initialState);
+            roundTick = 0;
+        }
+        controller.update(GameConfig.FIXED_DELTA);
+        roundTick++;
+        return controller.getLives();
+    }
+}
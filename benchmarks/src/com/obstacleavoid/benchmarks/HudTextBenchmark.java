@@ -0,0 +1,52 @@
+package com.obstacleavoid.benchmarks;
+
+import com.badlogic.gdx.utils.StringBuilder;
+import com.obstacleavoid.util.HudText;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Textos del HUD: concatenando en cada frame (como lo hacia GameRenderer.renderUi) y
+ * escribiendo los digitos en el buffer reutilizable de HudText. El rehacer los glifos
+ * necesita contexto GL y no se mide aqui.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HudTextBenchmark {
+
+    private int lives = 3;
+    private int displayScore = 1234;
+    private final StringBuilder livesText = new StringBuilder("LIVES: ");
+    private final StringBuilder scoreText = new StringBuilder("SCORE: ");
+
+    @Benchmark
+    public void concatenate(Blackhole blackhole) {
+        blackhole.consume("LIVES: " + lives);
+        blackhole.consume("SCORE: " + displayScore);
+    }
+
+    @Benchmark
+    public void formatIntoBuffer(Blackhole blackhole) {
+        livesText.setLength(7);
+        HudText.format(livesText, lives, 0);
+        blackhole.consume(livesText);
+        scoreText.setLength(7);
+        HudText.format(scoreText, displayScore, 0);
+        blackhole.consume(scoreText);
+    }
+}
@@ -0,0 +1,56 @@
+package com.obstacleavoid.benchmarks;
+
+import com.badlogic.gdx.utils.Pool;
+import com.badlogic.gdx.utils.Pools;
+import com.obstacleavoid.config.GameConfig;
+import com.obstacleavoid.entity.Obstacle;
+import com.obstacleavoid.entity.ObstacleStore;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Alta y baja de un obstaculo: Pool de libGDX (GameScreenOld) contra el ObstacleStore.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ObstaclePoolBenchmark {
+
+    private Pool<Obstacle> pool;
+    private ObstacleStore obstacles;
+
+    @Setup
+    public void setUp() {
+        pool = Pools.get(Obstacle.class, 40);
+        obstacles = new ObstacleStore();
+    }
+
+    @Benchmark
+    public Obstacle poolObtainFree() {
+        Obstacle obstacle = pool.obtain();
+        obstacle.setPosition(GameConfig.WORLD_CENTER_X, GameConfig.WORLD_HEIGHT);
+        pool.free(obstacle);
+        return obstacle;
+    }
+
+    @Benchmark
+    public int storeAddRemove() {
+        obstacles.add(GameConfig.WORLD_CENTER_X, GameConfig.WORLD_HEIGHT,
+                GameConfig.MEDIUM_OBSTACLE_SPEED, GameConfig.OBSTACLE_BOUNDS_RADIUS);
+        return obstacles.removePassed(Float.POSITIVE_INFINITY);
+    }
+}
@@ -0,0 +1,43 @@
+package com.obstacleavoid.benchmarks;
+
+import com.obstacleavoid.entity.Player;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GameObjectBase.updateBounds, que se ejecuta en cada setX/setY/setPosition.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UpdateBoundsBenchmark {
+
+    private final Player player = new Player();
+    private float x;
+
+    @Benchmark
+    public float updateBounds() {
+        player.updateBounds();
+        return player.getBounds().x;
+    }
+
+    @Benchmark
+    public float setX() {
+        x += 0.01f;
+        player.setX(x);
+        return player.getBounds().x;
+    }
+}
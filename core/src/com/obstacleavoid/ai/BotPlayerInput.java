@@ -0,0 +1,135 @@
+package com.obstacleavoid.ai;
+
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.gdx.ai.pfa.DefaultGraphPath;
+import com.badlogic.gdx.ai.pfa.indexed.IndexedAStarPathFinder;
+import com.badlogic.gdx.math.Circle;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.Array;
+import com.obstacleavoid.config.GameConfig;
+import com.obstacleavoid.ecs.EcsWorld;
+import com.obstacleavoid.ecs.component.Mappers;
+import com.obstacleavoid.ecs.component.PositionComponent;
+import com.obstacleavoid.entity.ObstacleStore;
+import com.obstacleavoid.input.PlayerInput;
+import com.obstacleavoid.screen.game.GameController;
+
+/**
+ * Jugador automatico para partidas sin nadie delante (pruebas largas, simulaciones).
+ * En cada tick proyecta la caida de los obstaculos sobre un campo de peligro por carril
+ * y busca con A* de gdx-ai la ruta mas segura en los proximos LAYERS * LAYER_TICKS ticks.
+ * No reserva memoria tras crearse.
+ */
+public class BotPlayerInput implements PlayerInput {
+
+    private static final int LANES = 12;
+    private static final int LAYERS = 12;
+    private static final int LAYER_TICKS = 4;
+    private static final float LAYER_TIME = LAYER_TICKS * GameConfig.FIXED_DELTA;
+
+    private static final float DANGER = 100f;
+    private static final float MARGIN = 0.05f;
+    // preferencia leve por el centro, junto a la pared hay menos salidas
+    private static final float WALL_COST = 0.02f;
+
+    private static final float MIN_LANE_X = GameConfig.PLAYER_SIZE / 2f;
+    private static final float MAX_LANE_X = GameConfig.WORLD_WIDTH - GameConfig.PLAYER_SIZE / 2f;
+    private static final float LANE_WIDTH = (MAX_LANE_X - MIN_LANE_X) / (LANES - 1);
+    // distancia recorrida en un tick: con menos no merece la pena moverse
+    private static final float DEAD_ZONE = GameConfig.MAX_PLAYER_X_SPEED * GameConfig.FIXED_DELTA / 2f;
+
+    private final LaneGraph graph;
+    private final IndexedAStarPathFinder<LaneGraph.Node> pathFinder;
+    private final DefaultGraphPath<LaneGraph.Node> path = new DefaultGraphPath<LaneGraph.Node>(LAYERS + 1);
+    private GameController controller;
+
+    public BotPlayerInput() {
+        int reach = (int) (GameConfig.MAX_PLAYER_X_SPEED * LAYER_TIME / LANE_WIDTH);
+        graph = new LaneGraph(LAYERS, LANES, reach);
+        for (int lane = 0; lane < LANES; lane++) {
+            graph.setLaneCost(lane, WALL_COST * Math.abs(getLaneX(lane) - GameConfig.WORLD_CENTER_X));
+        }
+        pathFinder = new IndexedAStarPathFinder<LaneGraph.Node>(graph);
+    }
+
+    public void setController(GameController controller) {
+        this.controller = controller;
+    }
+
+    @Override
+    public void poll() {
+    }
+
+    @Override
+    public int getDirection() {
+        if (controller == null) {
+            return NONE;
+        }
+        Circle player = controller.getPlayer().getBounds();
+
+        graph.clearDanger();
+        EcsWorld world = controller.getWorld();
+        if (world != null) {
+            Array<Entity> obstacles = world.getObstacles();
+            for (int i = 0; i < obstacles.size; i++) {
+                Entity entity = obstacles.get(i);
+                PositionComponent position = Mappers.POSITION.get(entity);
+                addDanger(player, position.x, position.y, -Mappers.VELOCITY.get(entity).ySpeed,
+                        Mappers.BOUNDS.get(entity).radius);
+            }
+        } else {
+            ObstacleStore obstacles = controller.getObstacles();
+            for (int n = 0, size = obstacles.size(); n < size; n++) {
+                int i = obstacles.index(n);
+                addDanger(player, obstacles.getX(i), obstacles.getY(i), obstacles.getSpeed(i), obstacles.getRadius(i));
+            }
+        }
+        graph.updateCosts();
+
+        int lane = MathUtils.clamp(Math.round((player.x - MIN_LANE_X) / LANE_WIDTH), 0, LANES - 1);
+        path.clear();
+        if (!pathFinder.searchNodePath(graph.getNode(0, lane), graph.getGoal(), graph.getHeuristic(), path)
+                || path.getCount() < 3) {
+            return NONE;
+        }
+
+        // el primer nodo es la posicion actual, el siguiente es el carril al que ir
+        float targetX = getLaneX(path.get(1).getLane());
+        if (Math.abs(targetX - player.x) <= DEAD_ZONE) {
+            return NONE;
+        }
+        return targetX < player.x ? LEFT : RIGHT;
+    }
+
+    @Override
+    public float getTargetX() {
+        return NO_TARGET;
+    }
+
+    // marca las capas en las que el obstaculo cruza la fila del jugador y los carriles que ocupa
+    private void addDanger(Circle player, float x, float y, float speed, float radius) {
+        float reach = player.radius + radius + MARGIN;
+        float exitTime = (y - player.y + reach) / speed;
+        if (exitTime < 0) {
+            return;
+        }
+        float enterTime = (y - player.y - reach) / speed;
+        int fromLayer = Math.max(0, MathUtils.floor(enterTime / LAYER_TIME));
+        int toLayer = Math.min(LAYERS - 1, MathUtils.ceil(exitTime / LAYER_TIME));
+        if (fromLayer > toLayer) {
+            return;
+        }
+        int fromLane = Math.max(0, MathUtils.ceil((x - reach - MIN_LANE_X) / LANE_WIDTH));
+        int toLane = Math.min(LANES - 1, MathUtils.floor((x + reach - MIN_LANE_X) / LANE_WIDTH));
+
+        for (int layer = fromLayer; layer <= toLayer; layer++) {
+            for (int lane = fromLane; lane <= toLane; lane++) {
+                graph.addDanger(layer, lane, DANGER);
+            }
+        }
+    }
+
+    private static float getLaneX(int lane) {
+        return MIN_LANE_X + lane * LANE_WIDTH;
+    }
+}
@@ -0,0 +1,194 @@
+package com.obstacleavoid.ai;
+
+import com.badlogic.gdx.ai.pfa.Connection;
+import com.badlogic.gdx.ai.pfa.Heuristic;
+import com.badlogic.gdx.ai.pfa.indexed.IndexedGraph;
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * Grafo espacio-tiempo para buscar una ruta con A*: cada capa es un instante futuro y cada
+ * nodo un carril horizontal. Desde un carril se llega a los vecinos que el jugador alcanza
+ * en el tiempo de una capa. La estructura se crea una vez, el coste de cada nodo (peligro)
+ * se reescribe en cada tick.
+ */
+public class LaneGraph implements IndexedGraph<LaneGraph.Node> {
+
+    public static class Node {
+        final int index;
+        final int layer;
+        final int lane;
+        final Array<Connection<Node>> connections = new Array<Connection<Node>>(false, 8);
+
+        Node(int index, int layer, int lane) {
+            this.index = index;
+            this.layer = layer;
+            this.lane = lane;
+        }
+
+        public int getLayer() {
+            return layer;
+        }
+
+        public int getLane() {
+            return lane;
+        }
+    }
+
+    private class Step implements Connection<Node> {
+        private final Node from;
+        private final Node to;
+        private final int laneChange;
+
+        Step(Node from, Node to) {
+            this.from = from;
+            this.to = to;
+            laneChange = Math.abs(to.lane - from.lane);
+        }
+
+        @Override
+        public float getCost() {
+            // el nodo de llegada y los carriles que se cruzan hasta el
+            if (to == goal) {
+                return 0;
+            }
+            float cost = STEP_COST + laneChange * LANE_CHANGE_COST + nodeCost[to.index];
+            int min = Math.min(from.lane, to.lane);
+            int max = Math.max(from.lane, to.lane);
+            int row = to.layer * lanes;
+            for (int lane = min; lane <= max; lane++) {
+                if (lane != to.lane) {
+                    cost += danger[row + lane];
+                }
+            }
+            return cost;
+        }
+
+        @Override
+        public Node getFromNode() {
+            return from;
+        }
+
+        @Override
+        public Node getToNode() {
+            return to;
+        }
+    }
+
+    private static final float STEP_COST = 1f;
+    private static final float LANE_CHANGE_COST = 0.05f;
+
+    private final int layers;
+    private final int lanes;
+    private final Node[] nodes;
+    private final Node goal;
+    // peligro por capa y carril, y peligro mas coste fijo (p. ej. cercania a las paredes)
+    private final float[] danger;
+    private final float[] nodeCost;
+    private final float[] laneCost;
+
+    /**
+     * El menor coste posible por capa es el de moverse sin peligro, asi que la heuristica
+     * (capas que faltan por el coste minimo) nunca sobreestima.
+     */
+    private final Heuristic<Node> heuristic = new Heuristic<Node>() {
+        @Override
+        public float estimate(Node node, Node endNode) {
+            return node == goal ? 0 : (layers - 1 - node.layer) * STEP_COST;
+        }
+    };
+
+    /**
+     * @param reach carriles que el jugador puede cruzar en una capa
+     */
+    public LaneGraph(int layers, int lanes, int reach) {
+        this.layers = layers;
+        this.lanes = lanes;
+        nodes = new Node[layers * lanes + 1];
+        danger = new float[layers * lanes];
+        nodeCost = new float[layers * lanes];
+        laneCost = new float[lanes];
+
+        for (int layer = 0; layer < layers; layer++) {
+            for (int lane = 0; lane < lanes; lane++) {
+                int index = layer * lanes + lane;
+                nodes[index] = new Node(index, layer, lane);
+            }
+        }
+        goal = new Node(nodes.length - 1, layers, 0);
+        nodes[goal.index] = goal;
+
+        for (int layer = 0; layer < layers; layer++) {
+            for (int lane = 0; lane < lanes; lane++) {
+                Node node = nodes[layer * lanes + lane];
+                if (layer == layers - 1) {
+                    node.connections.add(new Step(node, goal));
+                    continue;
+                }
+                int from = Math.max(0, lane - reach);
+                int to = Math.min(lanes - 1, lane + reach);
+                for (int next = from; next <= to; next++) {
+                    node.connections.add(new Step(node, nodes[(layer + 1) * lanes + next]));
+                }
+            }
+        }
+    }
+
+    public void clearDanger() {
+        for (int i = 0; i < danger.length; i++) {
+            danger[i] = 0;
+        }
+    }
+
+    public void addDanger(int layer, int lane, float value) {
+        danger[layer * lanes + lane] += value;
+    }
+
+    /**
+     * Coste fijo de estar en un carril, se suma en todas las capas.
+     */
+    public void setLaneCost(int lane, float cost) {
+        laneCost[lane] = cost;
+    }
+
+    // se llama tras rellenar el peligro y antes de buscar
+    public void updateCosts() {
+        for (int i = 0; i < nodeCost.length; i++) {
+            nodeCost[i] = danger[i] + laneCost[i % lanes];
+        }
+    }
+
+    public Node getNode(int layer, int lane) {
+        return nodes[layer * lanes + lane];
+    }
+
+    public Node getGoal() {
+        return goal;
+    }
+
+    public Heuristic<Node> getHeuristic() {
+        return heuristic;
+    }
+
+    public int getLayers() {
+        return layers;
+    }
+
+    public int getLanes() {
+        return lanes;
+    }
+
+    @Override
+    public int getIndex(Node node) {
+        return node.index;
+    }
+
+    @Override
+    public int getNodeCount() {
+        return nodes.length;
+    }
+
+    @Override
+    public Array<Connection<Node>> getConnections(Node fromNode) {
+        return fromNode.connections;
+    }
+}
@@ -1,8 +1,11 @@
 package com.obstacleavoid.assets;
 
 import com.badlogic.gdx.assets.AssetDescriptor;
+import com.badlogic.gdx.assets.loaders.ParticleEffectLoader;
+import com.badlogic.gdx.assets.loaders.TextureLoader;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.ParticleEffect;
 import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.scenes.scene2d.ui.Skin;
 
@@ -12,10 +15,31 @@ public class AssetDescriptors {
 
     public static final AssetDescriptor<TextureAtlas> GAME_PLAY = new AssetDescriptor<TextureAtlas>(AssetPaths.GAME_PLAY, TextureAtlas.class);
 
+    // se desplaza por subpixeles, con Nearest parpadea
+    public static final AssetDescriptor<Texture> SPACE_BACKGROUND = new AssetDescriptor<Texture>(AssetPaths.SPACE_BACKGROUND, Texture.class, linearFilter());
+
+    // las imagenes de los efectos son regiones del atlas de juego
+    public static final AssetDescriptor<ParticleEffect> EXPLOSION_EFFECT = new AssetDescriptor<ParticleEffect>(AssetPaths.EXPLOSION_EFFECT, ParticleEffect.class, gamePlayAtlas());
+
+    public static final AssetDescriptor<ParticleEffect> TRAIL_EFFECT = new AssetDescriptor<ParticleEffect>(AssetPaths.TRAIL_EFFECT, ParticleEffect.class, gamePlayAtlas());
+
     public static final AssetDescriptor<TextureAtlas> UI = new AssetDescriptor<TextureAtlas>(AssetPaths.UI, TextureAtlas.class);
 
     public static final AssetDescriptor<Skin> UI_SKIN = new AssetDescriptor<>(AssetPaths.UI_SKIN, Skin.class);
 
+    private static TextureLoader.TextureParameter linearFilter() {
+        TextureLoader.TextureParameter parameter = new TextureLoader.TextureParameter();
+        parameter.minFilter = Texture.TextureFilter.Linear;
+        parameter.magFilter = Texture.TextureFilter.Linear;
+        return parameter;
+    }
+
+    private static ParticleEffectLoader.ParticleEffectParameter gamePlayAtlas() {
+        ParticleEffectLoader.ParticleEffectParameter parameter = new ParticleEffectLoader.ParticleEffectParameter();
+        parameter.atlasFile = AssetPaths.GAME_PLAY;
+        return parameter;
+    }
+
     private AssetDescriptors() {
 
     }
@@ -6,10 +6,18 @@ public class AssetPaths {
 
     public static final String GAME_PLAY = "gameplay/gameplay.atlas";
 
+    public static final String SPACE_BACKGROUND = "gameplay/fondo_espacio.jpg";
+
+    public static final String EXPLOSION_EFFECT = "gameplay/explosion.p";
+
+    public static final String TRAIL_EFFECT = "gameplay/trail.p";
+
     public static final String UI = "ui/ui.atlas";
 
     public static final String UI_SKIN = "ui/uiskin.json";
 
+    public static final String PATTERNS = "patterns/patterns.json";
+
 
     public AssetPaths() {
     }
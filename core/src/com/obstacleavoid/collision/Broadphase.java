@@ -0,0 +1,20 @@
+package com.obstacleavoid.collision;
+
+/**
+ * Busqueda de obstaculos que tocan un circulo (el jugador).
+ */
+public interface Broadphase {
+
+    /**
+     * @return indice en el ObstacleStore del primer obstaculo no golpeado que solapa el circulo, o -1
+     */
+    int findOverlap(float centerX, float centerY, float radius);
+
+    /**
+     * Colision continua: el circulo va de start a end durante el ultimo paso y los obstaculos
+     * desde su posicion anterior a la actual, asi no se atraviesan a alta velocidad.
+     *
+     * @return indice del primer obstaculo no golpeado que toca el circulo en el paso, o -1
+     */
+    int findSweptOverlap(float startX, float startY, float endX, float endY, float radius);
+}
@@ -0,0 +1,17 @@
+package com.obstacleavoid.collision;
+
+import com.obstacleavoid.config.GameConfig;
+import com.obstacleavoid.entity.ObstacleStore;
+
+public enum BroadphaseType {
+    BRUTE_FORCE,
+    SPATIAL_HASH;
+
+    public Broadphase create(ObstacleStore obstacles) {
+        if (this == SPATIAL_HASH) {
+            return new SpatialHashGrid(obstacles, 0, 0,
+                    GameConfig.WORLD_WIDTH, GameConfig.WORLD_HEIGHT, GameConfig.COLLISION_CELL_SIZE);
+        }
+        return new BruteForceBroadphase(obstacles);
+    }
+}
@@ -0,0 +1,44 @@
+package com.obstacleavoid.collision;
+
+import com.obstacleavoid.entity.ObstacleStore;
+
+/**
+ * Comprueba todos los obstaculos, coste lineal. Se mantiene como referencia para comparar.
+ */
+public class BruteForceBroadphase implements Broadphase {
+
+    private final ObstacleStore obstacles;
+
+    public BruteForceBroadphase(ObstacleStore obstacles) {
+        this.obstacles = obstacles;
+    }
+
+    @Override
+    public int findOverlap(float centerX, float centerY, float radius) {
+        for (int n = 0, size = obstacles.size(); n < size; n++) {
+            int i = obstacles.index(n);
+            if (!obstacles.isHit(i) && obstacles.overlaps(i, centerX, centerY, radius)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int findSweptOverlap(float startX, float startY, float endX, float endY, float radius) {
+        int first = -1;
+        float firstTime = Float.MAX_VALUE;
+        for (int n = 0, size = obstacles.size(); n < size; n++) {
+            int i = obstacles.index(n);
+            if (obstacles.isHit(i)) {
+                continue;
+            }
+            float time = obstacles.sweep(i, startX, startY, endX, endY, radius);
+            if (time != SweptCircle.NO_HIT && time < firstTime) {
+                first = i;
+                firstTime = time;
+            }
+        }
+        return first;
+    }
+}
@@ -0,0 +1,208 @@
+package com.obstacleavoid.collision;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.obstacleavoid.entity.ObstacleStore;
+
+import java.util.Arrays;
+
+/**
+ * Rejilla uniforme sobre el mundo. Cada celda es una lista enlazada de indices del ObstacleStore
+ * (arrays next/prev), asi que insertar, quitar y cambiar de celda es O(1) y sin objetos.
+ * Los obstaculos fuera del mundo se guardan en las celdas del borde.
+ * Los obstaculos solo caen en vertical, asi que por tick basta comparar la y con los limites de su fila.
+ */
+public class SpatialHashGrid implements Broadphase, ObstacleStore.Listener {
+
+    private static final int NONE = -1;
+
+    private final ObstacleStore obstacles;
+    private final float minX;
+    private final float minY;
+    private final float cellSize;
+    private final float inverseCellSize;
+    private final int columns;
+    private final int rows;
+
+    private final int[] cellHead;
+    private int[] next;
+    private int[] prev;
+    private int[] cellOf;
+    private float[] rowBottom;
+    private float[] rowTop;
+
+    // margen de la consulta, los obstaculos se guardan por su centro
+    private float maxRadius;
+    // mayor caida en el ultimo update(), margen inferior de las consultas continuas
+    private float maxStep;
+
+    public SpatialHashGrid(ObstacleStore obstacles, float minX, float minY, float width, float height, float cellSize) {
+        if (obstacles == null) {
+            throw new IllegalArgumentException("obstacles param is required");
+        }
+        if (cellSize <= 0) {
+            throw new IllegalArgumentException("cellSize must be > 0");
+        }
+        this.obstacles = obstacles;
+        this.minX = minX;
+        this.minY = minY;
+        this.cellSize = cellSize;
+        this.inverseCellSize = 1f / cellSize;
+        columns = Math.max(1, MathUtils.ceil(width / cellSize));
+        rows = Math.max(1, MathUtils.ceil(height / cellSize));
+
+        cellHead = new int[columns * rows];
+        Arrays.fill(cellHead, NONE);
+        allocate(obstacles.capacity());
+
+        for (int n = 0, size = obstacles.size(); n < size; n++) {
+            added(obstacles.index(n));
+        }
+        obstacles.setListener(this);
+    }
+
+    @Override
+    public int findOverlap(float centerX, float centerY, float radius) {
+        float reach = radius + maxRadius;
+        int minColumn = column(centerX - reach);
+        int maxColumn = column(centerX + reach);
+        int minRow = row(centerY - reach);
+        int maxRow = row(centerY + reach);
+
+        for (int r = minRow; r <= maxRow; r++) {
+            for (int c = minColumn; c <= maxColumn; c++) {
+                for (int i = cellHead[r * columns + c]; i != NONE; i = next[i]) {
+                    if (!obstacles.isHit(i) && obstacles.overlaps(i, centerX, centerY, radius)) {
+                        return i;
+                    }
+                }
+            }
+        }
+        return NONE;
+    }
+
+    @Override
+    public int findSweptOverlap(float startX, float startY, float endX, float endY, float radius) {
+        // cada obstaculo esta en la celda de su posicion actual, la mas baja del paso
+        float reach = radius + maxRadius;
+        int minColumn = column(Math.min(startX, endX) - reach);
+        int maxColumn = column(Math.max(startX, endX) + reach);
+        int minRow = row(Math.min(startY, endY) - reach - maxStep);
+        int maxRow = row(Math.max(startY, endY) + reach);
+
+        int first = NONE;
+        float firstTime = Float.MAX_VALUE;
+        for (int r = minRow; r <= maxRow; r++) {
+            for (int c = minColumn; c <= maxColumn; c++) {
+                for (int i = cellHead[r * columns + c]; i != NONE; i = next[i]) {
+                    if (obstacles.isHit(i)) {
+                        continue;
+                    }
+                    float time = obstacles.sweep(i, startX, startY, endX, endY, radius);
+                    // a igual instante gana el mas antiguo, como en BruteForceBroadphase
+                    if (time != SweptCircle.NO_HIT && (time < firstTime
+                            || time == firstTime && obstacles.order(i) < obstacles.order(first))) {
+                        first = i;
+                        firstTime = time;
+                    }
+                }
+            }
+        }
+        return first;
+    }
+
+    @Override
+    public void added(int index) {
+        if (index >= next.length) {
+            allocate(obstacles.capacity());
+        }
+        maxRadius = Math.max(maxRadius, obstacles.getRadius(index));
+        link(index, cellIndex(obstacles.getX(index), obstacles.getY(index)));
+    }
+
+    @Override
+    public void removed(int index) {
+        unlink(index);
+    }
+
+    @Override
+    public void cleared() {
+        Arrays.fill(cellHead, NONE);
+    }
+
+    @Override
+    public void updated() {
+        float[] bottom = rowBottom;
+        float[] top = rowTop;
+        float step = 0;
+        for (int n = 0, size = obstacles.size(); n < size; n++) {
+            int i = obstacles.index(n);
+            float y = obstacles.getY(i);
+            if (y < bottom[i] || y >= top[i]) {
+                relink(i, y);
+            }
+            step = Math.max(step, obstacles.getStep(i));
+        }
+        maxStep = step;
+    }
+
+    private void relink(int index, float y) {
+        unlink(index);
+        link(index, cellIndex(obstacles.getX(index), y));
+    }
+
+    private void link(int index, int cell) {
+        int head = cellHead[cell];
+        next[index] = head;
+        prev[index] = NONE;
+        if (head != NONE) {
+            prev[head] = index;
+        }
+        cellHead[cell] = index;
+        cellOf[index] = cell;
+
+        // las filas del borde tambien guardan lo que queda fuera del mundo
+        int row = cell / columns;
+        rowBottom[index] = row == 0 ? Float.NEGATIVE_INFINITY : minY + row * cellSize;
+        rowTop[index] = row == rows - 1 ? Float.POSITIVE_INFINITY : minY + (row + 1) * cellSize;
+    }
+
+    private void unlink(int index) {
+        int cell = cellOf[index];
+        if (prev[index] != NONE) {
+            next[prev[index]] = next[index];
+        } else {
+            cellHead[cell] = next[index];
+        }
+        if (next[index] != NONE) {
+            prev[next[index]] = prev[index];
+        }
+    }
+
+    private int cellIndex(float x, float y) {
+        return row(y) * columns + column(x);
+    }
+
+    private int column(float x) {
+        return MathUtils.clamp(MathUtils.floor((x - minX) * inverseCellSize), 0, columns - 1);
+    }
+
+    private int row(float y) {
+        return MathUtils.clamp(MathUtils.floor((y - minY) * inverseCellSize), 0, rows - 1);
+    }
+
+    private void allocate(int capacity) {
+        next = copyOf(next, capacity);
+        prev = copyOf(prev, capacity);
+        cellOf = copyOf(cellOf, capacity);
+        rowBottom = copyOf(rowBottom, capacity);
+        rowTop = copyOf(rowTop, capacity);
+    }
+
+    private static int[] copyOf(int[] array, int capacity) {
+        return array == null ? new int[capacity] : Arrays.copyOf(array, capacity);
+    }
+
+    private static float[] copyOf(float[] array, int capacity) {
+        return array == null ? new float[capacity] : Arrays.copyOf(array, capacity);
+    }
+}
@@ -0,0 +1,45 @@
+package com.obstacleavoid.collision;
+
+/**
+ * Colision continua entre dos circulos que se mueven en linea recta durante un paso.
+ */
+public final class SweptCircle {
+
+    public static final float NO_HIT = -1f;
+
+    /**
+     * Instante del primer contacto entre a y b, con a en (aStartX, aStartY) -> (aEndX, aEndY)
+     * y b en (bStartX, bStartY) -> (bEndX, bEndY) a lo largo del paso.
+     *
+     * @return entre 0 y 1, 0 si ya se tocaban al principio, o NO_HIT
+     */
+    public static float timeOfImpact(float aStartX, float aStartY, float aEndX, float aEndY,
+                                     float bStartX, float bStartY, float bEndX, float bEndY,
+                                     float radiusSum) {
+        // b queda quieto, a se mueve con la velocidad relativa
+        float px = aStartX - bStartX;
+        float py = aStartY - bStartY;
+        float dx = (aEndX - aStartX) - (bEndX - bStartX);
+        float dy = (aEndY - aStartY) - (bEndY - bStartY);
+
+        float c = px * px + py * py - radiusSum * radiusSum;
+        if (c < 0) {
+            return 0;
+        }
+        float a = dx * dx + dy * dy;
+        float b = px * dx + py * dy;
+        if (a == 0 || b >= 0) {
+            // sin movimiento relativo o alejandose
+            return NO_HIT;
+        }
+        float discriminant = b * b - a * c;
+        if (discriminant < 0) {
+            return NO_HIT;
+        }
+        float t = (-b - (float) Math.sqrt(discriminant)) / a;
+        return t <= 1 ? t : NO_HIT;
+    }
+
+    private SweptCircle() {
+    }
+}
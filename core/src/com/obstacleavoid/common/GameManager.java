@@ -16,38 +16,52 @@ public class GameManager {
     private int highScore = 0;
     private DifficultyLevel difficultyLevel = DifficultyLevel.MEDIUM;
 
-    public GameManager() {
-        PREFS = Gdx.app.getPreferences(ObstacleAvoidGame.class.getSimpleName());
+    private GameManager() {
+    }
+
+    // las preferencias se inyectan (headless) o se piden al backend la primera vez que se usan
+    public void init(Preferences preferences) {
+        PREFS = preferences;
         highScore = PREFS.getInteger(HIGH_SCORE_KEY, 0);
         String difficultyName = PREFS.getString(DIFFICULTY_KEY, DifficultyLevel.MEDIUM.name());
         difficultyLevel = DifficultyLevel.valueOf(difficultyName);
-
     }
 
     public void updateHighScore(int score) {
+        Preferences prefs = getPrefs();
         if (score < highScore) {
             return;
         }
 
         highScore = score;
-        PREFS.putInteger(HIGH_SCORE_KEY, highScore);
-        PREFS.flush();
+        prefs.putInteger(HIGH_SCORE_KEY, highScore);
+        prefs.flush();
     }
 
     public String getHighScoreKey() {
+        getPrefs();
         return String.valueOf(highScore);
     }
 
     public DifficultyLevel getDifficultyLevel() {
+        getPrefs();
         return difficultyLevel;
     }
 
     public void updateDifficulty(DifficultyLevel newDifficultyLevel) {
+        Preferences prefs = getPrefs();
         if (difficultyLevel == newDifficultyLevel) {
             return;
         }
         difficultyLevel = newDifficultyLevel;
-        PREFS.putString(DIFFICULTY_KEY, difficultyLevel.name());
-        PREFS.flush();
+        prefs.putString(DIFFICULTY_KEY, difficultyLevel.name());
+        prefs.flush();
+    }
+
+    private Preferences getPrefs() {
+        if (PREFS == null) {
+            init(Gdx.app.getPreferences(ObstacleAvoidGame.class.getSimpleName()));
+        }
+        return PREFS;
     }
 }
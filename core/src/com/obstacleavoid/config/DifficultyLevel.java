@@ -3,18 +3,45 @@ package com.obstacleavoid.config;
 public enum DifficultyLevel {
     EASY(GameConfig.EASY_OBSTACLE_SPEED),
     MEDIUM(GameConfig.MEDIUM_OBSTACLE_SPEED),
-    HARD(GameConfig.HARD_OBSTACLE_SPEED);
+    HARD(GameConfig.HARD_OBSTACLE_SPEED),
+    // miles de obstaculos a la vez: los golpes no quitan vidas y la partida dura STRESS_SECONDS
+    STRESS(GameConfig.STRESS_OBSTACLE_SPEED, GameConfig.STRESS_SPAWN_TIME, GameConfig.STRESS_SPAWN_COUNT);
 
     private final float obstacleSpeed;
+    private final float spawnTime;
+    private final int spawnCount;
 
     DifficultyLevel(float obstacleSpeed) {
+        this(obstacleSpeed, GameConfig.OBSTACLE_SPAWN_TIME, 1);
+    }
+
+    DifficultyLevel(float obstacleSpeed, float spawnTime, int spawnCount) {
         this.obstacleSpeed = obstacleSpeed;
+        this.spawnTime = spawnTime;
+        this.spawnCount = spawnCount;
     }
 
     public float getObstacleSpeed() {
         return obstacleSpeed;
     }
 
+    public float getSpawnTime() {
+        return spawnTime;
+    }
+
+    // obstaculos que aparecen cada getSpawnTime()
+    public int getSpawnCount() {
+        return spawnCount;
+    }
+
+    /**
+     * Obstaculos a la vez como mucho: los que aparecen mientras uno cae toda la pantalla.
+     */
+    public int getMaxObstacles() {
+        float fallTime = (GameConfig.WORLD_HEIGHT + GameConfig.OBSTACLE_SIZE) / obstacleSpeed;
+        return ((int) Math.ceil(fallTime / spawnTime) + 1) * spawnCount;
+    }
+
     public boolean isEasy() {
         return this == EASY;
     }
@@ -26,4 +53,8 @@ public enum DifficultyLevel {
     public boolean isHard() {
         return this == HARD;
     }
+
+    public boolean isStress() {
+        return this == STRESS;
+    }
 }
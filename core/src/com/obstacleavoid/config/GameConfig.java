@@ -14,15 +14,53 @@ public class GameConfig {
     public static final float WORLD_CENTER_X = WORLD_WIDTH / 2f;
     public static final float WORLD_CENTER_Y = WORLD_HEIGHT / 2f;
 
-    public static final float MAX_PLAYER_X_SPEED = 0.25f;
+    // simulacion a paso fijo, independiente del refresco de pantalla
+    public static final int TICKS_PER_SECOND = 60;
+    public static final float FIXED_DELTA = 1f / TICKS_PER_SECOND;
+    public static final int MAX_STEPS_PER_FRAME = 5;
+    public static final SimulationMode SIMULATION_MODE = SimulationMode.CLASSIC;
+    // la simulacion en su propio hilo (SimulationThread), el render dibuja la ultima captura
+    public static final boolean SIMULATION_THREAD = false;
+    // juega el bot (ai.BotPlayerInput) y encadena partidas, para pruebas largas
+    public static final boolean BOT_PLAYER = false;
+    // apariciones por patrones (assets/patterns) en lugar de una aleatoria cada OBSTACLE_SPAWN_TIME
+    public static final boolean PATTERN_SPAWNS = false;
+    // graba cada partida en una repeticion (.oar) en Gdx.files.local, para reproducir fallos
+    public static final boolean RECORD_REPLAY = false;
+
+    // resolucion dinamica: la partida se dibuja a menor resolucion si el frame pasa del presupuesto
+    public static final boolean DYNAMIC_RESOLUTION = false;
+    public static final float FRAME_BUDGET = 1f / 60f;
+    // profiler de render encendido desde el inicio; en moviles se cambia tocando con 3 dedos
+    // y se exporta con 4, en escritorio con F2 y F3
+    public static final boolean PROFILER = false;
+    // particulas vivas entre todos los efectos (CollisionEffects)
+    public static final int MAX_PARTICLES = 512;
+
+    // rebobinado de depuracion: captura cada 6 ticks, se guardan 10 segundos
+    public static final int REWIND_SNAPSHOT_INTERVAL = 6;
+    public static final int REWIND_SNAPSHOTS = 10 * TICKS_PER_SECOND / REWIND_SNAPSHOT_INTERVAL;
+    public static final float REWIND_SECONDS = 5f;
+
+    // ventana de los percentiles de latencia de entrada
+    public static final float INPUT_LATENCY_WINDOW_SECONDS = 5f;
+
+    // velocidades en unidades de mundo por segundo
+    public static final float MAX_PLAYER_X_SPEED = 15f;
     public static final float OBSTACLE_SPAWN_TIME = 0.25f;
     public static final float SCORE_MAX_TIME = 1.25f;
 
     public static final int LIVES_START = 3;
 
-    public static final float EASY_OBSTACLE_SPEED = 0.1f;
-    public static final float MEDIUM_OBSTACLE_SPEED = 0.15f;
-    public static final float HARD_OBSTACLE_SPEED = 0.18f;
+    public static final float EASY_OBSTACLE_SPEED = 6f;
+    public static final float MEDIUM_OBSTACLE_SPEED = 9f;
+    public static final float HARD_OBSTACLE_SPEED = 10.8f;
+
+    // modo stress: 24 obstaculos por tick a 3 unidades/s, unos 5000 en pantalla
+    public static final float STRESS_OBSTACLE_SPEED = 3f;
+    public static final float STRESS_SPAWN_TIME = FIXED_DELTA;
+    public static final int STRESS_SPAWN_COUNT = 24;
+    public static final float STRESS_SECONDS = 60f;
 
     public static final float PLAYER_BOUNDS_RADIUS = 0.4f;
     public static final float PLAYER_SIZE = 2 * PLAYER_BOUNDS_RADIUS;
@@ -30,6 +68,9 @@ public class GameConfig {
     public static final float OBSTACLE_BOUNDS_RADIUS = 0.3f;
     public static final float OBSTACLE_SIZE = 2 * OBSTACLE_SPAWN_TIME;
 
+    // celda de la rejilla de colisiones, mayor que el diametro de los obstaculos
+    public static final float COLLISION_CELL_SIZE = 1.0f;
+
 
     public GameConfig() {
     }
@@ -0,0 +1,8 @@
+package com.obstacleavoid.config;
+
+public enum SimulationMode {
+    // logica en GameController sobre el ObstacleStore
+    CLASSIC,
+    // sistemas y entidades de Ashley (EcsWorld)
+    ECS
+}
@@ -0,0 +1,180 @@
+package com.obstacleavoid.ecs;
+
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.EntityListener;
+import com.badlogic.ashley.core.Family;
+import com.badlogic.ashley.core.PooledEngine;
+import com.badlogic.gdx.math.RandomXS128;
+import com.badlogic.gdx.utils.Array;
+import com.obstacleavoid.config.DifficultyLevel;
+import com.obstacleavoid.ecs.component.BoundsComponent;
+import com.obstacleavoid.ecs.component.Mappers;
+import com.obstacleavoid.ecs.component.ObstacleComponent;
+import com.obstacleavoid.ecs.component.PositionComponent;
+import com.obstacleavoid.ecs.component.VelocityComponent;
+import com.obstacleavoid.ecs.system.CollisionSystem;
+import com.obstacleavoid.ecs.system.CullingSystem;
+import com.obstacleavoid.ecs.system.MovementSystem;
+import com.obstacleavoid.ecs.system.ObstacleSpawnSystem;
+import com.obstacleavoid.ecs.system.PlayerControlSystem;
+import com.obstacleavoid.ecs.system.RenderSystem;
+import com.obstacleavoid.entity.ObstacleStore;
+import com.obstacleavoid.entity.Player;
+import com.obstacleavoid.input.PlayerInput;
+import com.obstacleavoid.spawn.SpawnScheduler;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Simulacion de la partida con Ashley: el jugador, los obstaculos y los sistemas que
+ * los mueven, crean, eliminan y comprueban colisiones, en el mismo orden que el modo clasico.
+ * Las vidas y la puntuacion siguen en el GameController.
+ */
+public class EcsWorld {
+
+    // orden de ejecucion de los sistemas
+    public static final int PLAYER_CONTROL_PRIORITY = 0;
+    public static final int MOVEMENT_PRIORITY = 1;
+    public static final int SPAWN_PRIORITY = 2;
+    public static final int CULLING_PRIORITY = 3;
+    public static final int COLLISION_PRIORITY = 4;
+    // no procesa, la captura lo llama
+    public static final int RENDER_PRIORITY = 5;
+
+    private static final Family OBSTACLE_FAMILY = Family.all(ObstacleComponent.class, PositionComponent.class,
+            VelocityComponent.class, BoundsComponent.class).get();
+
+    private final PooledEngine engine = new PooledEngine();
+    private final EntityFactory factory = new EntityFactory(engine);
+    private final ObstacleSpawnSystem spawnSystem;
+    private final CollisionSystem collisionSystem;
+    private final RenderSystem renderSystem;
+    // las familias de Ashley no conservan el orden al borrar, aqui van en orden de aparicion
+    private final Array<Entity> obstacles = new Array<Entity>(true, 64);
+    // obstaculos borrados en este tick; son siempre los mas antiguos (misma velocidad y
+    // altura de aparicion, como en ObstacleStore), se quitan del principio de una vez
+    private int removedCount;
+
+    public EcsWorld(PlayerInput input, DifficultyLevel difficultyLevel, RandomXS128 random, Player player) {
+        spawnSystem = new ObstacleSpawnSystem(factory, random, difficultyLevel, SPAWN_PRIORITY);
+        collisionSystem = new CollisionSystem(COLLISION_PRIORITY);
+        renderSystem = new RenderSystem(RENDER_PRIORITY);
+
+        engine.addSystem(new PlayerControlSystem(input, PLAYER_CONTROL_PRIORITY));
+        engine.addSystem(new MovementSystem(MOVEMENT_PRIORITY));
+        engine.addSystem(spawnSystem);
+        engine.addSystem(new CullingSystem(CULLING_PRIORITY));
+        engine.addSystem(collisionSystem);
+        engine.addSystem(renderSystem);
+
+        engine.addEntityListener(OBSTACLE_FAMILY, new EntityListener() {
+            @Override
+            public void entityAdded(Entity entity) {
+                // las altas pendientes de un tick no llegan en orden, se inserta por secuencia
+                int sequence = Mappers.OBSTACLE.get(entity).sequence;
+                int index = obstacles.size;
+                while (index > 0 && Mappers.OBSTACLE.get(obstacles.get(index - 1)).sequence - sequence > 0) {
+                    index--;
+                }
+                obstacles.insert(index, entity);
+            }
+
+            @Override
+            public void entityRemoved(Entity entity) {
+                // las bajas llegan en el orden de la familia, no en el de aparicion
+                removedCount++;
+            }
+        });
+        factory.addPlayer(player);
+    }
+
+    public void update(float delta) {
+        engine.update(delta);
+        removeCulled();
+    }
+
+    public boolean consumeCollision() {
+        return collisionSystem.consumeCollision();
+    }
+
+    public void clearObstacles() {
+        // fuera de update() el borrado es inmediato, se recorre desde el final
+        for (int i = obstacles.size - 1; i >= 0; i--) {
+            engine.removeEntity(obstacles.get(i));
+        }
+        obstacles.clear();
+        removedCount = 0;
+    }
+
+    public RenderSystem getRenderSystem() {
+        return renderSystem;
+    }
+
+    public int getObstacleCount() {
+        return obstacles.size;
+    }
+
+    /**
+     * @return obstaculos en orden de aparicion, solo lectura
+     */
+    public Array<Entity> getObstacles() {
+        return obstacles;
+    }
+
+    public void setSpawnScheduler(SpawnScheduler scheduler) {
+        spawnSystem.setScheduler(scheduler);
+    }
+
+    public float getObstacleTimer() {
+        return spawnSystem.getTimer();
+    }
+
+    public void setObstacleTimer(float timer) {
+        spawnSystem.setTimer(timer);
+    }
+
+    /**
+     * Mismo formato que ObstacleStore.write(), en orden de aparicion: el estado es identico al del modo clasico.
+     */
+    public void writeObstacles(ByteBuffer buffer) {
+        buffer.putInt(obstacles.size);
+        for (int i = 0; i < obstacles.size; i++) {
+            Entity entity = obstacles.get(i);
+            PositionComponent position = Mappers.POSITION.get(entity);
+            buffer.putFloat(position.x);
+            buffer.putFloat(position.y);
+            buffer.putFloat(-Mappers.VELOCITY.get(entity).ySpeed);
+            buffer.putFloat(Mappers.BOUNDS.get(entity).radius);
+            buffer.putInt(Mappers.OBSTACLE.get(entity).hit ? ObstacleStore.FLAG_HIT : 0);
+        }
+    }
+
+    public void readObstacles(ByteBuffer buffer) {
+        clearObstacles();
+        int count = buffer.getInt();
+        for (int n = 0; n < count; n++) {
+            float centerX = buffer.getFloat();
+            float centerY = buffer.getFloat();
+            float ySpeed = buffer.getFloat();
+            float boundsRadius = buffer.getFloat();
+            Entity entity = factory.addObstacle(centerX, centerY, ySpeed, boundsRadius);
+            Mappers.OBSTACLE.get(entity).hit = (buffer.getInt() & ObstacleStore.FLAG_HIT) != 0;
+        }
+    }
+
+    // O(k) para k borrados, sin buscar cada entidad
+    private void removeCulled() {
+        if (removedCount > 0) {
+            obstacles.removeRange(0, removedCount - 1);
+            removedCount = 0;
+        }
+    }
+
+    public PooledEngine getEngine() {
+        return engine;
+    }
+
+    public EntityFactory getFactory() {
+        return factory;
+    }
+}
@@ -0,0 +1,65 @@
+package com.obstacleavoid.ecs;
+
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.PooledEngine;
+import com.obstacleavoid.config.GameConfig;
+import com.obstacleavoid.ecs.component.BoundsComponent;
+import com.obstacleavoid.ecs.component.DimensionComponent;
+import com.obstacleavoid.ecs.component.ObstacleComponent;
+import com.obstacleavoid.ecs.component.PlayerComponent;
+import com.obstacleavoid.ecs.component.PositionComponent;
+import com.obstacleavoid.ecs.component.VelocityComponent;
+import com.obstacleavoid.entity.Player;
+
+/**
+ * Crea las entidades con componentes del pool del engine, sin reservar memoria en partida.
+ */
+public class EntityFactory {
+
+    private final PooledEngine engine;
+    private int obstacleSequence;
+
+    public EntityFactory(PooledEngine engine) {
+        this.engine = engine;
+    }
+
+    public Entity addPlayer(Player player) {
+        PlayerComponent playerComponent = engine.createComponent(PlayerComponent.class);
+        playerComponent.player = player;
+
+        Entity entity = engine.createEntity();
+        entity.add(playerComponent);
+        engine.addEntity(entity);
+        return entity;
+    }
+
+    /**
+     * @param ySpeed velocidad de caida, positiva hacia abajo como en ObstacleStore
+     */
+    public Entity addObstacle(float centerX, float centerY, float ySpeed, float boundsRadius) {
+        PositionComponent position = engine.createComponent(PositionComponent.class);
+        position.set(centerX, centerY);
+
+        VelocityComponent velocity = engine.createComponent(VelocityComponent.class);
+        velocity.ySpeed = -ySpeed;
+
+        BoundsComponent bounds = engine.createComponent(BoundsComponent.class);
+        bounds.radius = boundsRadius;
+
+        DimensionComponent dimension = engine.createComponent(DimensionComponent.class);
+        dimension.width = GameConfig.OBSTACLE_SIZE;
+        dimension.height = GameConfig.OBSTACLE_SIZE;
+
+        ObstacleComponent obstacle = engine.createComponent(ObstacleComponent.class);
+        obstacle.sequence = obstacleSequence++;
+
+        Entity entity = engine.createEntity();
+        entity.add(position);
+        entity.add(velocity);
+        entity.add(bounds);
+        entity.add(dimension);
+        entity.add(obstacle);
+        engine.addEntity(entity);
+        return entity;
+    }
+}
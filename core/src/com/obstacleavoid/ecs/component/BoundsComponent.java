@@ -0,0 +1,14 @@
+package com.obstacleavoid.ecs.component;
+
+import com.badlogic.ashley.core.Component;
+import com.badlogic.gdx.utils.Pool;
+
+public class BoundsComponent implements Component, Pool.Poolable {
+
+    public float radius;
+
+    @Override
+    public void reset() {
+        radius = 0;
+    }
+}
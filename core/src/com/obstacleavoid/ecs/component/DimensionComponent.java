@@ -0,0 +1,19 @@
+package com.obstacleavoid.ecs.component;
+
+import com.badlogic.ashley.core.Component;
+import com.badlogic.gdx.utils.Pool;
+
+/**
+ * Tamano del sprite, centrado en la posicion.
+ */
+public class DimensionComponent implements Component, Pool.Poolable {
+
+    public float width;
+    public float height;
+
+    @Override
+    public void reset() {
+        width = 0;
+        height = 0;
+    }
+}
@@ -0,0 +1,17 @@
+package com.obstacleavoid.ecs.component;
+
+import com.badlogic.ashley.core.Component;
+import com.badlogic.gdx.utils.Pool;
+
+public class ObstacleComponent implements Component, Pool.Poolable {
+
+    public boolean hit;
+    // orden de aparicion, lo asigna EntityFactory
+    public int sequence;
+
+    @Override
+    public void reset() {
+        hit = false;
+        sequence = 0;
+    }
+}
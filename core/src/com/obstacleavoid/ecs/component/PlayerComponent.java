@@ -0,0 +1,18 @@
+package com.obstacleavoid.ecs.component;
+
+import com.badlogic.ashley.core.Component;
+import com.badlogic.gdx.utils.Pool;
+import com.obstacleavoid.entity.Player;
+
+/**
+ * El jugador sigue siendo el Player del GameController, la entidad solo lo referencia.
+ */
+public class PlayerComponent implements Component, Pool.Poolable {
+
+    public Player player;
+
+    @Override
+    public void reset() {
+        player = null;
+    }
+}
@@ -0,0 +1,30 @@
+package com.obstacleavoid.ecs.component;
+
+import com.badlogic.ashley.core.Component;
+import com.badlogic.gdx.utils.Pool;
+
+/**
+ * Centro de la entidad y su posicion en el tick anterior, para interpolar.
+ */
+public class PositionComponent implements Component, Pool.Poolable {
+
+    public float x;
+    public float y;
+    public float previousX;
+    public float previousY;
+
+    public void set(float x, float y) {
+        this.x = x;
+        this.y = y;
+        previousX = x;
+        previousY = y;
+    }
+
+    @Override
+    public void reset() {
+        x = 0;
+        y = 0;
+        previousX = 0;
+        previousY = 0;
+    }
+}
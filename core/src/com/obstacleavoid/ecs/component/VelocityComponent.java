@@ -0,0 +1,19 @@
+package com.obstacleavoid.ecs.component;
+
+import com.badlogic.ashley.core.Component;
+import com.badlogic.gdx.utils.Pool;
+
+/**
+ * Velocidad en unidades de mundo por segundo.
+ */
+public class VelocityComponent implements Component, Pool.Poolable {
+
+    public float xSpeed;
+    public float ySpeed;
+
+    @Override
+    public void reset() {
+        xSpeed = 0;
+        ySpeed = 0;
+    }
+}
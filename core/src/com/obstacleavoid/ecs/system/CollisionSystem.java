@@ -0,0 +1,85 @@
+package com.obstacleavoid.ecs.system;
+
+import com.badlogic.ashley.core.Engine;
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.EntitySystem;
+import com.badlogic.ashley.core.Family;
+import com.badlogic.ashley.utils.ImmutableArray;
+import com.badlogic.gdx.math.Circle;
+import com.obstacleavoid.collision.SweptCircle;
+import com.obstacleavoid.ecs.component.BoundsComponent;
+import com.obstacleavoid.ecs.component.Mappers;
+import com.obstacleavoid.ecs.component.ObstacleComponent;
+import com.obstacleavoid.ecs.component.PlayerComponent;
+import com.obstacleavoid.ecs.component.PositionComponent;
+import com.obstacleavoid.entity.Player;
+
+/**
+ * Marca el primer obstaculo que toca al jugador durante el tick (colision continua,
+ * como Broadphase.findSweptOverlap). Las consecuencias (vidas, reinicio)
+ * las decide el GameController con consumeCollision().
+ */
+public class CollisionSystem extends EntitySystem {
+
+    private static final Family PLAYER_FAMILY = Family.all(PlayerComponent.class).get();
+    private static final Family OBSTACLE_FAMILY = Family.all(ObstacleComponent.class, PositionComponent.class, BoundsComponent.class).get();
+
+    private ImmutableArray<Entity> players;
+    private ImmutableArray<Entity> obstacles;
+    private boolean collided;
+
+    public CollisionSystem(int priority) {
+        super(priority);
+    }
+
+    @Override
+    public void addedToEngine(Engine engine) {
+        players = engine.getEntitiesFor(PLAYER_FAMILY);
+        obstacles = engine.getEntitiesFor(OBSTACLE_FAMILY);
+    }
+
+    @Override
+    public void update(float deltaTime) {
+        for (int p = 0; p < players.size(); p++) {
+            Player player = Mappers.PLAYER.get(players.get(p)).player;
+            Circle playerBounds = player.getBounds();
+            float startX = player.getPreviousX() + player.getWidth() / 2f;
+            float startY = player.getPreviousY() + player.getHeight() / 2f;
+
+            ObstacleComponent first = null;
+            float firstTime = Float.MAX_VALUE;
+            for (int i = 0; i < obstacles.size(); i++) {
+                Entity entity = obstacles.get(i);
+                ObstacleComponent obstacle = Mappers.OBSTACLE.get(entity);
+                if (obstacle.hit) {
+                    continue;
+                }
+
+                PositionComponent position = Mappers.POSITION.get(entity);
+                float time = SweptCircle.timeOfImpact(startX, startY, playerBounds.x, playerBounds.y,
+                        position.previousX, position.previousY, position.x, position.y,
+                        playerBounds.radius + Mappers.BOUNDS.get(entity).radius);
+                // a igual instante gana el mas antiguo, como en el modo clasico
+                if (time != SweptCircle.NO_HIT && (time < firstTime
+                        || time == firstTime && obstacle.sequence - first.sequence < 0)) {
+                    first = obstacle;
+                    firstTime = time;
+                }
+            }
+            if (first != null) {
+                first.hit = true;
+                collided = true;
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return true si hubo colision desde la ultima llamada
+     */
+    public boolean consumeCollision() {
+        boolean result = collided;
+        collided = false;
+        return result;
+    }
+}
@@ -0,0 +1,32 @@
+package com.obstacleavoid.ecs.system;
+
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.Family;
+import com.badlogic.ashley.systems.IteratingSystem;
+import com.obstacleavoid.config.GameConfig;
+import com.obstacleavoid.ecs.component.Mappers;
+import com.obstacleavoid.ecs.component.ObstacleComponent;
+import com.obstacleavoid.ecs.component.PositionComponent;
+
+/**
+ * Devuelve al pool los obstaculos que ya han pasado al jugador.
+ */
+public class CullingSystem extends IteratingSystem {
+
+    private static final Family FAMILY = Family.all(ObstacleComponent.class, PositionComponent.class).get();
+
+    // el centro queda medio obstaculo por debajo del borde inferior
+    private static final float MIN_OBSTACLE_Y = -GameConfig.OBSTACLE_SIZE / 2f;
+
+    public CullingSystem(int priority) {
+        super(FAMILY, priority);
+    }
+
+    @Override
+    protected void processEntity(Entity entity, float deltaTime) {
+        if (Mappers.POSITION.get(entity).y < MIN_OBSTACLE_Y) {
+            // dentro de update() el engine aplaza el borrado hasta terminar el sistema
+            getEngine().removeEntity(entity);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.obstacleavoid.ecs.system;
+
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.Family;
+import com.badlogic.ashley.systems.IteratingSystem;
+import com.obstacleavoid.ecs.component.Mappers;
+import com.obstacleavoid.ecs.component.PositionComponent;
+import com.obstacleavoid.ecs.component.VelocityComponent;
+
+public class MovementSystem extends IteratingSystem {
+
+    private static final Family FAMILY = Family.all(PositionComponent.class, VelocityComponent.class).get();
+
+    public MovementSystem(int priority) {
+        super(FAMILY, priority);
+    }
+
+    @Override
+    protected void processEntity(Entity entity, float deltaTime) {
+        PositionComponent position = Mappers.POSITION.get(entity);
+        VelocityComponent velocity = Mappers.VELOCITY.get(entity);
+
+        // posicion al inicio del tick, para interpolar al renderizar
+        position.previousX = position.x;
+        position.previousY = position.y;
+
+        position.x += velocity.xSpeed * deltaTime;
+        position.y += velocity.ySpeed * deltaTime;
+    }
+}
@@ -0,0 +1,65 @@
+package com.obstacleavoid.ecs.system;
+
+import com.badlogic.ashley.core.EntitySystem;
+import com.badlogic.gdx.math.RandomXS128;
+import com.obstacleavoid.config.DifficultyLevel;
+import com.obstacleavoid.config.GameConfig;
+import com.obstacleavoid.ecs.EntityFactory;
+import com.obstacleavoid.spawn.SpawnPattern;
+import com.obstacleavoid.spawn.SpawnScheduler;
+
+public class ObstacleSpawnSystem extends EntitySystem implements SpawnScheduler.Listener {
+
+    private final EntityFactory factory;
+    private final RandomXS128 random;
+    private final DifficultyLevel difficultyLevel;
+    private float timer;
+    private SpawnScheduler scheduler;
+
+    public ObstacleSpawnSystem(EntityFactory factory, RandomXS128 random, DifficultyLevel difficultyLevel, int priority) {
+        super(priority);
+        this.factory = factory;
+        this.random = random;
+        this.difficultyLevel = difficultyLevel;
+    }
+
+    @Override
+    public void update(float deltaTime) {
+        if (scheduler != null) {
+            scheduler.update(deltaTime, this);
+            return;
+        }
+        timer += deltaTime;
+        if (timer >= difficultyLevel.getSpawnTime()) {
+            for (int i = 0, count = difficultyLevel.getSpawnCount(); i < count; i++) {
+                spawn(SpawnPattern.RANDOM_X);
+            }
+            timer = 0f;
+        }
+    }
+
+    @Override
+    public void spawn(float x) {
+        float min = 0;
+        float max = GameConfig.WORLD_WIDTH - GameConfig.OBSTACLE_SIZE;
+        float obstacleX = min + (x == SpawnPattern.RANDOM_X ? random.nextFloat() : x) * (max - min);
+        float obstacleY = GameConfig.WORLD_HEIGHT;
+
+        float halfSize = GameConfig.OBSTACLE_SIZE / 2f;
+        factory.addObstacle(obstacleX + halfSize, obstacleY + halfSize,
+                difficultyLevel.getObstacleSpeed(), GameConfig.OBSTACLE_BOUNDS_RADIUS);
+    }
+
+    public void setScheduler(SpawnScheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    // forma parte del estado de la partida (rebobinado y repeticiones)
+    public float getTimer() {
+        return timer;
+    }
+
+    public void setTimer(float timer) {
+        this.timer = timer;
+    }
+}
@@ -0,0 +1,40 @@
+package com.obstacleavoid.ecs.system;
+
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.Family;
+import com.badlogic.ashley.systems.IteratingSystem;
+import com.badlogic.gdx.math.MathUtils;
+import com.obstacleavoid.config.GameConfig;
+import com.obstacleavoid.ecs.component.Mappers;
+import com.obstacleavoid.ecs.component.PlayerComponent;
+import com.obstacleavoid.entity.Player;
+import com.obstacleavoid.input.PlayerInput;
+
+public class PlayerControlSystem extends IteratingSystem {
+
+    private static final Family FAMILY = Family.all(PlayerComponent.class).get();
+
+    private final PlayerInput input;
+
+    public PlayerControlSystem(PlayerInput input, int priority) {
+        super(FAMILY, priority);
+        this.input = input;
+    }
+
+    @Override
+    protected void processEntity(Entity entity, float deltaTime) {
+        Player player = Mappers.PLAYER.get(entity).player;
+        player.savePreviousPosition();
+
+        float xSpeed = input.getDirection() * GameConfig.MAX_PLAYER_X_SPEED;
+        float targetX = input.getTargetX();
+        float playerX = targetX != PlayerInput.NO_TARGET ? targetX : player.getX() + xSpeed * deltaTime;
+
+        // no dejar salir al jugador del mundo
+        player.setX(MathUtils.clamp(playerX, 0, GameConfig.WORLD_WIDTH - player.getWidth()));
+        if (targetX != PlayerInput.NO_TARGET) {
+            // el salto no recorre el camino, CollisionSystem solo barre la caida de los obstaculos
+            player.savePreviousPosition();
+        }
+    }
+}
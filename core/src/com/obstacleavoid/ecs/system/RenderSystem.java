@@ -0,0 +1,53 @@
+package com.obstacleavoid.ecs.system;
+
+import com.badlogic.ashley.core.Engine;
+import com.badlogic.ashley.core.Entity;
+import com.badlogic.ashley.core.EntitySystem;
+import com.badlogic.ashley.core.Family;
+import com.badlogic.ashley.utils.ImmutableArray;
+import com.obstacleavoid.ecs.component.BoundsComponent;
+import com.obstacleavoid.ecs.component.DimensionComponent;
+import com.obstacleavoid.ecs.component.Mappers;
+import com.obstacleavoid.ecs.component.PositionComponent;
+
+/**
+ * Saca de las entidades lo que se dibuja: todas las que tengan posicion, tamano y limites,
+ * sin mirar su tipo. No procesa en Engine.update(), la GameSnapshot lo llama al capturar
+ * en el hilo de la simulacion y el GameRenderer dibuja la captura en el hilo GL.
+ */
+public class RenderSystem extends EntitySystem {
+
+    /**
+     * Recibe las entidades a dibujar, posiciones en el centro.
+     */
+    public interface Listener {
+        void begin(int count);
+
+        void sprite(float x, float y, float previousY, float size, float radius);
+    }
+
+    private static final Family FAMILY = Family.all(PositionComponent.class, DimensionComponent.class,
+            BoundsComponent.class).get();
+
+    private ImmutableArray<Entity> entities;
+
+    public RenderSystem(int priority) {
+        super(priority);
+        setProcessing(false);
+    }
+
+    @Override
+    public void addedToEngine(Engine engine) {
+        entities = engine.getEntitiesFor(FAMILY);
+    }
+
+    public void extract(Listener listener) {
+        listener.begin(entities.size());
+        for (int i = 0; i < entities.size(); i++) {
+            Entity entity = entities.get(i);
+            PositionComponent position = Mappers.POSITION.get(entity);
+            listener.sprite(position.x, position.y, position.previousY, Mappers.DIMENSION.get(entity).width,
+                    Mappers.BOUNDS.get(entity).radius);
+        }
+    }
+}
@@ -7,6 +7,8 @@ public abstract class GameObjectBase {
 
     private float x;
     private float y;
+    private float previousX;
+    private float previousY;
     private float width = 1;
     private float height = 1;
     private Circle bounds;
@@ -26,6 +28,28 @@ public abstract class GameObjectBase {
         updateBounds();
     }
 
+    // posicion al inicio del tick, para interpolar al renderizar
+    public void savePreviousPosition() {
+        previousX = x;
+        previousY = y;
+    }
+
+    public float getInterpolatedX(float alpha) {
+        return previousX + (x - previousX) * alpha;
+    }
+
+    public float getInterpolatedY(float alpha) {
+        return previousY + (y - previousY) * alpha;
+    }
+
+    public float getPreviousX() {
+        return previousX;
+    }
+
+    public float getPreviousY() {
+        return previousY;
+    }
+
     public float getX() {
         return x;
     }
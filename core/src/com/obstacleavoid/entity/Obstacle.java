@@ -22,9 +22,9 @@ public class Obstacle extends GameObjectBase implements Pool.Poolable {
     }
 
 
-    public void update() {
+    public void update(float delta) {
 
-        setY(getY() - ySpeed);
+        setY(getY() - ySpeed * delta);
     }
 
     public boolean isPlayerColliding(Player player) {
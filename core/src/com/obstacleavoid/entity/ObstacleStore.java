@@ -0,0 +1,293 @@
+package com.obstacleavoid.entity;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.obstacleavoid.collision.SweptCircle;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Obstaculos guardados como arrays paralelos de primitivos (structure of arrays).
+ * Los arrays forman un buffer circular en orden de aparicion: el mas antiguo esta en head.
+ * Cada obstaculo vive en un slot fijo, index(n) da el slot del n-esimo mas antiguo,
+ * y las posiciones son el centro del circulo.
+ * Solo se quitan obstaculos desde el mas antiguo (removePassed), por eso add() espera que
+ * todos caigan a la misma velocidad y aparezcan a la misma altura: asi el mas antiguo es
+ * siempre el que va mas abajo y el orden de write() es el de aparicion.
+ */
+public class ObstacleStore {
+
+    /**
+     * Recibe los cambios del store, p. ej. para mantener un indice espacial.
+     */
+    public interface Listener {
+        void added(int index);
+
+        /** Antes de borrar el indice. */
+        void removed(int index);
+
+        void cleared();
+
+        /** Tras mover todos los obstaculos en update(). */
+        void updated();
+    }
+
+    public static final int FLAG_HIT = 1;
+
+    // x, y, velocidad, radio y flags en write()/read()
+    public static final int BYTES_PER_OBSTACLE = 5 * 4;
+
+    private static final int DEFAULT_CAPACITY = 64;
+
+    private float[] x;
+    private float[] y;
+    private float[] previousY;
+    private float[] speed;
+    private float[] radius;
+    private int[] flags;
+    private int mask;
+    private int head;
+    private int size;
+    private Listener listener;
+
+    public ObstacleStore() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public ObstacleStore(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be > 0");
+        }
+        allocate(MathUtils.nextPowerOfTwo(capacity));
+    }
+
+    /**
+     * Anade el obstaculo mas reciente; misma velocidad y altura de aparicion que los que ya hay
+     * (ver la clase), si no removePassed() se para en el primero fuera de orden.
+     */
+    public int add(float centerX, float centerY, float ySpeed, float boundsRadius) {
+        if (size == x.length) {
+            resize(size * 2);
+        }
+        int index = (head + size) & mask;
+        size++;
+        x[index] = centerX;
+        y[index] = centerY;
+        previousY[index] = centerY;
+        speed[index] = ySpeed;
+        radius[index] = boundsRadius;
+        flags[index] = 0;
+        if (listener != null) {
+            listener.added(index);
+        }
+        return index;
+    }
+
+    /**
+     * Libera desde el mas antiguo todos los obstaculos por debajo de minY, O(k) para k liberados.
+     * Todos caen a la misma velocidad, asi que los mas antiguos son los que van mas abajo.
+     *
+     * @return cantidad de obstaculos liberados
+     */
+    public int removePassed(float minY) {
+        int removed = 0;
+        while (size > 0 && y[head] < minY) {
+            if (listener != null) {
+                listener.removed(head);
+            }
+            head = (head + 1) & mask;
+            size--;
+            removed++;
+        }
+        return removed;
+    }
+
+    public void clear() {
+        head = 0;
+        size = 0;
+        if (listener != null) {
+            listener.cleared();
+        }
+    }
+
+    public void savePreviousPositions() {
+        int end = head + size;
+        if (end <= x.length) {
+            System.arraycopy(y, head, previousY, head, size);
+        } else {
+            System.arraycopy(y, head, previousY, head, x.length - head);
+            System.arraycopy(y, 0, previousY, 0, end - x.length);
+        }
+    }
+
+    public void update(float delta) {
+        // dos tramos contiguos en lugar de aplicar la mascara en cada iteracion
+        int end = head + size;
+        if (end <= x.length) {
+            move(head, end, delta);
+        } else {
+            move(head, x.length, delta);
+            move(0, end - x.length, delta);
+        }
+        if (listener != null) {
+            listener.updated();
+        }
+    }
+
+    /**
+     * Escribe los obstaculos en orden de aparicion (sin la posicion anterior).
+     */
+    public void write(ByteBuffer buffer) {
+        buffer.putInt(size);
+        for (int n = 0; n < size; n++) {
+            int i = (head + n) & mask;
+            buffer.putFloat(x[i]);
+            buffer.putFloat(y[i]);
+            buffer.putFloat(speed[i]);
+            buffer.putFloat(radius[i]);
+            buffer.putInt(flags[i]);
+        }
+    }
+
+    public void read(ByteBuffer buffer) {
+        clear();
+        int count = buffer.getInt();
+        for (int n = 0; n < count; n++) {
+            float centerX = buffer.getFloat();
+            float centerY = buffer.getFloat();
+            float ySpeed = buffer.getFloat();
+            float boundsRadius = buffer.getFloat();
+            int index = add(centerX, centerY, ySpeed, boundsRadius);
+            flags[index] = buffer.getInt();
+        }
+    }
+
+    public boolean overlaps(int index, float centerX, float centerY, float boundsRadius) {
+        float dx = centerX - x[index];
+        float dy = centerY - y[index];
+        float radiusSum = boundsRadius + radius[index];
+        return dx * dx + dy * dy < radiusSum * radiusSum;
+    }
+
+    /**
+     * Como overlaps() pero a lo largo del ultimo paso, el circulo va de start a end
+     * mientras el obstaculo cae desde su posicion anterior.
+     *
+     * @return instante del contacto entre 0 y 1, o SweptCircle.NO_HIT
+     */
+    public float sweep(int index, float startX, float startY, float endX, float endY, float boundsRadius) {
+        return SweptCircle.timeOfImpact(startX, startY, endX, endY,
+                x[index], previousY[index], x[index], y[index], boundsRadius + radius[index]);
+    }
+
+    /**
+     * @return distancia recorrida en el ultimo paso
+     */
+    public float getStep(int index) {
+        return previousY[index] - y[index];
+    }
+
+    public void setListener(Listener listener) {
+        this.listener = listener;
+    }
+
+    public int capacity() {
+        return x.length;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return slot del n-esimo obstaculo, 0 es el mas antiguo
+     */
+    public int index(int n) {
+        return (head + n) & mask;
+    }
+
+    /**
+     * Inverso de index(): 0 para el obstaculo mas antiguo.
+     */
+    public int order(int index) {
+        return (index - head) & mask;
+    }
+
+    public float getX(int index) {
+        return x[index];
+    }
+
+    public float getY(int index) {
+        return y[index];
+    }
+
+    public float getPreviousY(int index) {
+        return previousY[index];
+    }
+
+    public float getInterpolatedY(int index, float alpha) {
+        return previousY[index] + (y[index] - previousY[index]) * alpha;
+    }
+
+    public float getSpeed(int index) {
+        return speed[index];
+    }
+
+    public float getRadius(int index) {
+        return radius[index];
+    }
+
+    public boolean isHit(int index) {
+        return (flags[index] & FLAG_HIT) != 0;
+    }
+
+    public void setHit(int index) {
+        flags[index] |= FLAG_HIT;
+    }
+
+    private void move(int from, int to, float delta) {
+        for (int i = from; i < to; i++) {
+            y[i] -= speed[i] * delta;
+        }
+    }
+
+    private void allocate(int capacity) {
+        x = new float[capacity];
+        y = new float[capacity];
+        previousY = new float[capacity];
+        speed = new float[capacity];
+        radius = new float[capacity];
+        flags = new int[capacity];
+        mask = capacity - 1;
+    }
+
+    private void resize(int capacity) {
+        float[] oldX = x;
+        float[] oldY = y;
+        float[] oldPreviousY = previousY;
+        float[] oldSpeed = speed;
+        float[] oldRadius = radius;
+        int[] oldFlags = flags;
+        int oldMask = mask;
+
+        allocate(capacity);
+        // se desenrolla el buffer, el mas antiguo pasa al slot 0
+        for (int n = 0; n < size; n++) {
+            int from = (head + n) & oldMask;
+            x[n] = oldX[from];
+            y[n] = oldY[from];
+            previousY[n] = oldPreviousY[from];
+            speed[n] = oldSpeed[from];
+            radius[n] = oldRadius[from];
+            flags[n] = oldFlags[from];
+        }
+        head = 0;
+
+        // los slots han cambiado, el listener se reconstruye
+        if (listener != null) {
+            listener.cleared();
+            for (int n = 0; n < size; n++) {
+                listener.added(n);
+            }
+        }
+    }
+}
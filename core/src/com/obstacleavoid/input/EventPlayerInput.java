@@ -0,0 +1,202 @@
+package com.obstacleavoid.input;
+
+import com.badlogic.gdx.Application;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input;
+import com.badlogic.gdx.InputAdapter;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.TimeUtils;
+import com.badlogic.gdx.utils.viewport.Viewport;
+
+/**
+ * Entrada por eventos (InputProcessor). Las teclas y los toques se guardan en una cola
+ * circular reservada al crearla y el GameController los aplica en poll(), al inicio del tick.
+ * Los toques se pasan a coordenadas del mundo al llegar, con un vector reutilizable.
+ * Con la simulacion en otro hilo los eventos llegan por el hilo GL y se consumen en el de
+ * simulacion; los metodos publicos se sincronizan (sin contencion cuesta muy poco).
+ */
+public class EventPlayerInput extends InputAdapter implements PlayerInput {
+
+    private static final int CAPACITY = 64;
+
+    private static final byte KEY_DOWN = 0;
+    private static final byte KEY_UP = 1;
+    private static final byte TOUCH_DOWN = 2;
+    private static final byte TOUCH_DRAGGED = 3;
+    private static final byte TOUCH_UP = 4;
+
+    private static final int NO_POINTER = -1;
+
+    private final byte[] types = new byte[CAPACITY];
+    // tecla o dedo
+    private final int[] codes = new int[CAPACITY];
+    private final float[] worldXs = new float[CAPACITY];
+    // llegada de cada evento (System.nanoTime), para medir la latencia
+    private final long[] arrivals = new long[CAPACITY];
+    private int head;
+    private int size;
+
+    private final Vector2 temp = new Vector2();
+    private Viewport viewport;
+    private InputLatencyTracker latencyTracker;
+
+    private boolean leftPressed;
+    private boolean rightPressed;
+    private int touchPointer = NO_POINTER;
+    private float targetX = NO_TARGET;
+
+    /**
+     * Viewport del mundo para pasar los toques a coordenadas del mundo.
+     */
+    public void setViewport(Viewport viewport) {
+        this.viewport = viewport;
+    }
+
+    public void setLatencyTracker(InputLatencyTracker latencyTracker) {
+        this.latencyTracker = latencyTracker;
+    }
+
+    @Override
+    public synchronized boolean keyDown(int keycode) {
+        if (keycode != Input.Keys.LEFT && keycode != Input.Keys.RIGHT) {
+            return false;
+        }
+        enqueue(KEY_DOWN, keycode, 0);
+        return true;
+    }
+
+    @Override
+    public synchronized boolean keyUp(int keycode) {
+        if (keycode != Input.Keys.LEFT && keycode != Input.Keys.RIGHT) {
+            return false;
+        }
+        enqueue(KEY_UP, keycode, 0);
+        return true;
+    }
+
+    @Override
+    public synchronized boolean touchDown(int screenX, int screenY, int pointer, int button) {
+        enqueue(TOUCH_DOWN, pointer, toWorldX(screenX, screenY));
+        return true;
+    }
+
+    @Override
+    public synchronized boolean touchDragged(int screenX, int screenY, int pointer) {
+        float worldX = toWorldX(screenX, screenY);
+        // varios arrastres seguidos del mismo dedo entre dos ticks: basta el ultimo,
+        // con la llegada del primero
+        if (size > 0) {
+            int last = (head + size - 1) % CAPACITY;
+            if (types[last] == TOUCH_DRAGGED && codes[last] == pointer) {
+                worldXs[last] = worldX;
+                return true;
+            }
+        }
+        enqueue(TOUCH_DRAGGED, pointer, worldX);
+        return true;
+    }
+
+    @Override
+    public synchronized boolean touchUp(int screenX, int screenY, int pointer, int button) {
+        enqueue(TOUCH_UP, pointer, 0);
+        return true;
+    }
+
+    @Override
+    public synchronized void poll() {
+        while (size > 0) {
+            apply(head);
+            head = (head + 1) % CAPACITY;
+            size--;
+        }
+    }
+
+    @Override
+    public synchronized int getDirection() {
+        if (rightPressed && !leftPressed) {
+            return RIGHT;
+        } else if (leftPressed && !rightPressed) {
+            return LEFT;
+        }
+        return NONE;
+    }
+
+    @Override
+    public synchronized float getTargetX() {
+        return targetX;
+    }
+
+    private void enqueue(byte type, int code, float worldX) {
+        if (size == CAPACITY) {
+            // cola llena: el evento mas antiguo se aplica ya, solo se pierde su momento exacto
+            apply(head);
+            head = (head + 1) % CAPACITY;
+            size--;
+        }
+        int index = (head + size) % CAPACITY;
+        types[index] = type;
+        codes[index] = code;
+        worldXs[index] = worldX;
+        arrivals[index] = eventTime();
+        size++;
+    }
+
+    private void apply(int index) {
+        if (latencyTracker != null) {
+            latencyTracker.consumed(arrivals[index], TimeUtils.nanoTime());
+        }
+        int code = codes[index];
+        switch (types[index]) {
+            case KEY_DOWN:
+            case KEY_UP:
+                boolean pressed = types[index] == KEY_DOWN;
+                if (code == Input.Keys.LEFT) {
+                    leftPressed = pressed;
+                } else {
+                    rightPressed = pressed;
+                }
+                break;
+            case TOUCH_DOWN:
+                if (touchPointer == NO_POINTER) {
+                    touchPointer = code;
+                }
+                if (touchPointer == code) {
+                    targetX = Math.max(0, worldXs[index]);
+                }
+                break;
+            case TOUCH_DRAGGED:
+                if (touchPointer == code) {
+                    targetX = Math.max(0, worldXs[index]);
+                }
+                break;
+            case TOUCH_UP:
+                if (touchPointer == code) {
+                    touchPointer = NO_POINTER;
+                    targetX = NO_TARGET;
+                }
+                break;
+        }
+    }
+
+    // en Android es el momento en que el sistema entrego el evento, antes de la cola del hilo GL,
+    // y va con System.nanoTime; en escritorio (LWJGL) es el reloj de eventos del sistema, que no
+    // se puede restar de nanoTime, y se toma la llegada al InputProcessor
+    private static long eventTime() {
+        if (Gdx.app != null && Gdx.app.getType() == Application.ApplicationType.Android) {
+            long time = Gdx.input.getCurrentEventTime();
+            if (time > 0) {
+                return time;
+            }
+        }
+        return TimeUtils.nanoTime();
+    }
+
+    private float toWorldX(int screenX, int screenY) {
+        if (viewport == null) {
+            return 0;
+        }
+        temp.set(screenX, screenY);
+        viewport.unproject(temp);
+        return temp.x;
+    }
+}
@@ -0,0 +1,124 @@
+package com.obstacleavoid.input;
+
+import com.obstacleavoid.util.Histogram;
+
+/**
+ * Latencia de la entrada en microsegundos, en dos tramos:
+ * llegada del evento hasta que la simulacion lo consume, y llegada hasta que se envia
+ * el frame que ya lo muestra. Los percentiles son de la ultima ventana completa,
+ * asi reflejan el estado actual y no toda la sesion. Un evento consumido queda pendiente
+ * hasta que se dibuja la captura del tick que lo aplico: con la simulacion en otro hilo el
+ * frame enviado puede ser de una captura anterior. consumed() y simulated() llegan desde
+ * el hilo de simulacion, por eso los metodos se sincronizan. Todos los tiempos son de
+ * System.nanoTime; una llegada posterior al momento actual es un error de reloj.
+ */
+public class InputLatencyTracker {
+
+    private static final int MAX_PENDING = 64;
+    // consumido en un tick que aun no ha terminado
+    private static final int NO_TICK = -1;
+
+    private final long windowNanos;
+    private final Histogram consumed = new Histogram();
+    private final Histogram presented = new Histogram();
+    private final Histogram lastConsumed = new Histogram();
+    private final Histogram lastPresented = new Histogram();
+
+    // llegadas consumidas que aun no se han mostrado y tick que las aplico
+    private final long[] pending = new long[MAX_PENDING];
+    private final int[] pendingTicks = new int[MAX_PENDING];
+    private int pendingCount;
+    private long windowStart = -1;
+
+    public InputLatencyTracker(float windowSeconds) {
+        if (windowSeconds <= 0) {
+            throw new IllegalArgumentException("windowSeconds must be > 0");
+        }
+        windowNanos = (long) (windowSeconds * 1e9);
+    }
+
+    /**
+     * La simulacion aplica un evento que llego en arrivalNanos.
+     */
+    public synchronized void consumed(long arrivalNanos, long nowNanos) {
+        consumed.record(toMicros(nowNanos - arrivalNanos));
+        if (pendingCount < MAX_PENDING) {
+            pending[pendingCount] = arrivalNanos;
+            pendingTicks[pendingCount] = NO_TICK;
+            pendingCount++;
+        }
+    }
+
+    /**
+     * La simulacion ha llegado a tick: los eventos consumidos hasta ahora se ven en las
+     * capturas desde ese tick. Tras un rebobinado se descartan los de ticks deshechos.
+     */
+    public synchronized void simulated(int tick) {
+        int kept = 0;
+        for (int i = 0; i < pendingCount; i++) {
+            int pendingTick = pendingTicks[i] == NO_TICK ? tick : pendingTicks[i];
+            if (pendingTick <= tick) {
+                pending[kept] = pending[i];
+                pendingTicks[kept] = pendingTick;
+                kept++;
+            }
+        }
+        pendingCount = kept;
+    }
+
+    /**
+     * Se ha enviado el frame con la captura de snapshotTick; se cierran los eventos que
+     * ya muestra.
+     *
+     * @return true si se ha cerrado una ventana y hay percentiles nuevos
+     */
+    public synchronized boolean presented(long nowNanos, int snapshotTick) {
+        int kept = 0;
+        for (int i = 0; i < pendingCount; i++) {
+            if (pendingTicks[i] != NO_TICK && pendingTicks[i] <= snapshotTick) {
+                presented.record(toMicros(nowNanos - pending[i]));
+            } else {
+                pending[kept] = pending[i];
+                pendingTicks[kept] = pendingTicks[i];
+                kept++;
+            }
+        }
+        pendingCount = kept;
+
+        if (windowStart < 0) {
+            windowStart = nowNanos;
+        }
+        if (nowNanos - windowStart < windowNanos) {
+            return false;
+        }
+        windowStart = nowNanos;
+        publish(consumed, lastConsumed);
+        publish(presented, lastPresented);
+        return true;
+    }
+
+    public synchronized long getConsumedPercentile(double percentile) {
+        return lastConsumed.getValueAtPercentile(percentile);
+    }
+
+    public synchronized long getPresentedPercentile(double percentile) {
+        return lastPresented.getValueAtPercentile(percentile);
+    }
+
+    public synchronized long getSampleCount() {
+        return lastPresented.getTotalCount();
+    }
+
+    private static void publish(Histogram current, Histogram last) {
+        last.reset();
+        last.merge(current);
+        current.reset();
+    }
+
+    private static long toMicros(long nanos) {
+        if (nanos < 0) {
+            throw new IllegalArgumentException("event arrival is after now, clocks do not match: " + nanos + " ns");
+        }
+        return nanos / 1000;
+    }
+}
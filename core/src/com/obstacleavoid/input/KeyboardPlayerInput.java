@@ -0,0 +1,26 @@
+package com.obstacleavoid.input;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input;
+
+public class KeyboardPlayerInput implements PlayerInput {
+
+    @Override
+    public void poll() {
+    }
+
+    @Override
+    public int getDirection() {
+        if (Gdx.input.isKeyPressed(Input.Keys.RIGHT)) {
+            return RIGHT;
+        } else if (Gdx.input.isKeyPressed(Input.Keys.LEFT)) {
+            return LEFT;
+        }
+        return NONE;
+    }
+
+    @Override
+    public float getTargetX() {
+        return NO_TARGET;
+    }
+}
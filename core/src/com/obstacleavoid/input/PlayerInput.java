@@ -0,0 +1,30 @@
+package com.obstacleavoid.input;
+
+/**
+ * Fuente de entrada del jugador que lee el GameController en cada tick.
+ * Permite ejecutar la simulacion sin backend (teclado, bots, scripts).
+ */
+public interface PlayerInput {
+
+    int NONE = 0;
+    int LEFT = -1;
+    int RIGHT = 1;
+
+    // sin posicion pedida, el jugador se mueve segun la direccion
+    float NO_TARGET = -1f;
+
+    /**
+     * Se llama al inicio de cada tick, antes de leer la direccion y el objetivo.
+     */
+    void poll();
+
+    /**
+     * @return {@link #LEFT}, {@link #RIGHT} o {@link #NONE}
+     */
+    int getDirection();
+
+    /**
+     * @return x del jugador pedida (p. ej. con un toque), o {@link #NO_TARGET}
+     */
+    float getTargetX();
+}
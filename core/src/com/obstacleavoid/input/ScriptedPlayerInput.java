@@ -0,0 +1,33 @@
+package com.obstacleavoid.input;
+
+/**
+ * Repite en bucle una secuencia fija de direcciones, una por tick.
+ */
+public class ScriptedPlayerInput implements PlayerInput {
+
+    private final int[] script;
+    private int index;
+
+    public ScriptedPlayerInput(int... script) {
+        if (script == null || script.length == 0) {
+            throw new IllegalArgumentException("script param is required");
+        }
+        this.script = script;
+    }
+
+    @Override
+    public void poll() {
+    }
+
+    @Override
+    public int getDirection() {
+        int direction = script[index];
+        index = (index + 1) % script.length;
+        return direction;
+    }
+
+    @Override
+    public float getTargetX() {
+        return NO_TARGET;
+    }
+}
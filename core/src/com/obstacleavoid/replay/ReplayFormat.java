@@ -0,0 +1,65 @@
+package com.obstacleavoid.replay;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Formato binario de las repeticiones (.oar).
+ * <pre>
+ * cabecera: magic, version, dificultad, semilla, ticks por segundo, intervalo de keyframes,
+ *           modo de simulacion, flags (FLAG_PATTERN_SPAWNS)
+ * eventos:  varint ticks desde el evento anterior, tipo, datos
+ *           DIRECTION: byte direccion, solo cuando cambia
+ *           KEYFRAME:  byte direccion vigente, float objetivo vigente, int longitud, estado del GameController
+ *           END:       sin datos, marca el ultimo tick
+ *           TARGET:    float x pedida por un toque (o PlayerInput.NO_TARGET), solo cuando cambia
+ * indice:   int cantidad, (int tick, int posicion de los datos) por keyframe
+ * cola:     int ticks totales, int posicion del indice, magic
+ * </pre>
+ */
+public final class ReplayFormat {
+
+    public static final int MAGIC = 0x4F415231; // "OAR1"
+    // 2: el estado incluye los golpes del modo stress
+    // 3: eventos TARGET y objetivo en los keyframes
+    // 4: modo de simulacion y apariciones por patrones en la cabecera
+    public static final byte VERSION = 4;
+
+    public static final int HEADER_BYTES = 4 + 1 + 1 + 8 + 2 + 4 + 1 + 1;
+
+    // apariciones de un SpawnScheduler con la misma semilla; la PatternLibrary no se guarda
+    public static final byte FLAG_PATTERN_SPAWNS = 1;
+    public static final int TRAILER_BYTES = 4 + 4 + 4;
+
+    public static final byte EVENT_DIRECTION = 0;
+    public static final byte EVENT_KEYFRAME = 1;
+    public static final byte EVENT_END = 2;
+    public static final byte EVENT_TARGET = 3;
+
+    // varint + tipo + direccion + objetivo + longitud
+    public static final int MAX_EVENT_HEADER_BYTES = 5 + 1 + 1 + 4 + 4;
+
+    public static final int DEFAULT_KEYFRAME_INTERVAL = 300;
+
+    public static void putVarInt(ByteBuffer buffer, int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    public static int getVarInt(ByteBuffer buffer) {
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    private ReplayFormat() {
+    }
+}
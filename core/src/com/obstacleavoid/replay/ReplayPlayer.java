@@ -0,0 +1,250 @@
+package com.obstacleavoid.replay;
+
+import com.badlogic.gdx.math.RandomXS128;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.obstacleavoid.collision.BroadphaseType;
+import com.obstacleavoid.config.DifficultyLevel;
+import com.obstacleavoid.config.GameConfig;
+import com.obstacleavoid.config.SimulationMode;
+import com.obstacleavoid.input.PlayerInput;
+import com.obstacleavoid.screen.game.GameController;
+import com.obstacleavoid.spawn.PatternLibrary;
+import com.obstacleavoid.spawn.SpawnScheduler;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Reproduce una repeticion leyendo el fichero mapeado en memoria.
+ * Al pasar por un keyframe compara el estado simulado con el grabado byte a byte,
+ * y seek(tick) salta al keyframe anterior y simula solo desde ahi. El GameController se
+ * crea con el modo y las apariciones de la cabecera; si se grabo con patrones hay que pasar
+ * la misma PatternLibrary.
+ */
+public class ReplayPlayer implements PlayerInput {
+
+    private final MappedByteBuffer data;
+    private final DifficultyLevel difficultyLevel;
+    private final long seed;
+    private final int ticksPerSecond;
+    private final int keyframeInterval;
+    private final SimulationMode simulationMode;
+    private final boolean patternSpawns;
+    private final int totalTicks;
+    private final int[] keyframeTicks;
+    private final int[] keyframeOffsets;
+
+    private final ByteBuffer events;
+    private final GameController controller;
+    private ByteBuffer stateBuffer;
+
+    private int eventTick;
+    private int direction = NONE;
+    private float targetX = NO_TARGET;
+    private boolean ended;
+    private int keyframesChecked;
+    private int keyframeMismatches;
+
+    public ReplayPlayer(File file) {
+        this(file, null);
+    }
+
+    /**
+     * @param patterns libreria con la que se grabo, o null si la repeticion no usa patrones
+     */
+    public ReplayPlayer(File file, PatternLibrary patterns) {
+        try {
+            RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+            try {
+                FileChannel channel = randomAccessFile.getChannel();
+                data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            } finally {
+                randomAccessFile.close();
+            }
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Error reading replay " + file, e);
+        }
+
+        if (data.getInt(0) != ReplayFormat.MAGIC || data.get(4) != ReplayFormat.VERSION) {
+            throw new GdxRuntimeException("Not a replay file: " + file);
+        }
+        difficultyLevel = DifficultyLevel.values()[data.get(5)];
+        seed = data.getLong(6);
+        ticksPerSecond = data.getShort(14);
+        keyframeInterval = data.getInt(16);
+        simulationMode = SimulationMode.values()[data.get(20)];
+        patternSpawns = (data.get(21) & ReplayFormat.FLAG_PATTERN_SPAWNS) != 0;
+        if (ticksPerSecond != GameConfig.TICKS_PER_SECOND) {
+            throw new GdxRuntimeException("Replay recorded at " + ticksPerSecond + " ticks per second");
+        }
+        if (patternSpawns && patterns == null) {
+            throw new GdxRuntimeException("Replay recorded with pattern spawns, the PatternLibrary is required: " + file);
+        }
+
+        int trailer = data.limit() - ReplayFormat.TRAILER_BYTES;
+        totalTicks = data.getInt(trailer);
+        int indexOffset = data.getInt(trailer + 4);
+        int keyframes = data.getInt(indexOffset);
+        keyframeTicks = new int[keyframes];
+        keyframeOffsets = new int[keyframes];
+        for (int i = 0; i < keyframes; i++) {
+            keyframeTicks[i] = data.getInt(indexOffset + 4 + i * 8);
+            keyframeOffsets[i] = data.getInt(indexOffset + 8 + i * 8);
+        }
+
+        events = data.duplicate();
+        events.position(ReplayFormat.HEADER_BYTES);
+        stateBuffer = ByteBuffer.allocate(1024);
+        RandomXS128 random = new RandomXS128(seed);
+        controller = new GameController(this, difficultyLevel, BroadphaseType.SPATIAL_HASH, random, simulationMode);
+        if (patternSpawns) {
+            controller.setSpawnScheduler(new SpawnScheduler(patterns, random));
+        }
+    }
+
+    public GameController getController() {
+        return controller;
+    }
+
+    public void update(float delta) {
+        readEvents(controller.getTick());
+        controller.update(delta);
+    }
+
+    @Override
+    public void poll() {
+    }
+
+    @Override
+    public int getDirection() {
+        return direction;
+    }
+
+    @Override
+    public float getTargetX() {
+        return targetX;
+    }
+
+    /**
+     * Restaura el keyframe anterior a tick y simula hasta llegar a el.
+     */
+    public void seek(int tick) {
+        int keyframe = findKeyframe(tick);
+        if (keyframe < 0) {
+            throw new GdxRuntimeException("No keyframe before tick " + tick);
+        }
+
+        events.position(keyframeOffsets[keyframe]);
+        eventTick = keyframeTicks[keyframe];
+        ended = false;
+        direction = events.get();
+        targetX = events.getFloat();
+        int length = events.getInt();
+        ByteBuffer state = events.slice();
+        state.limit(length);
+        controller.readState(state);
+        events.position(events.position() + length);
+
+        while (controller.getTick() < tick && !controller.isGameOver() && !isFinished()) {
+            update(GameConfig.FIXED_DELTA);
+        }
+    }
+
+    public boolean isFinished() {
+        return controller.getTick() >= totalTicks;
+    }
+
+    public DifficultyLevel getDifficultyLevel() {
+        return difficultyLevel;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public SimulationMode getSimulationMode() {
+        return simulationMode;
+    }
+
+    public boolean hasPatternSpawns() {
+        return patternSpawns;
+    }
+
+    public int getTotalTicks() {
+        return totalTicks;
+    }
+
+    public int getKeyframeInterval() {
+        return keyframeInterval;
+    }
+
+    public int getKeyframesChecked() {
+        return keyframesChecked;
+    }
+
+    public int getKeyframeMismatches() {
+        return keyframeMismatches;
+    }
+
+    private void readEvents(int tick) {
+        while (!ended) {
+            int mark = events.position();
+            int nextTick = eventTick + ReplayFormat.getVarInt(events);
+            if (nextTick > tick) {
+                events.position(mark);
+                return;
+            }
+            eventTick = nextTick;
+            byte type = events.get();
+            if (type == ReplayFormat.EVENT_DIRECTION) {
+                direction = events.get();
+            } else if (type == ReplayFormat.EVENT_TARGET) {
+                targetX = events.getFloat();
+            } else if (type == ReplayFormat.EVENT_KEYFRAME) {
+                events.get();
+                events.getFloat();
+                int length = events.getInt();
+                verifyKeyframe(length);
+            } else {
+                ended = true;
+            }
+        }
+    }
+
+    private void verifyKeyframe(int length) {
+        if (stateBuffer.capacity() < length) {
+            stateBuffer = ByteBuffer.allocate(length * 2);
+        }
+        stateBuffer.clear();
+        controller.writeState(stateBuffer);
+        stateBuffer.flip();
+
+        ByteBuffer recorded = events.slice();
+        recorded.limit(length);
+        keyframesChecked++;
+        if (!recorded.equals(stateBuffer)) {
+            keyframeMismatches++;
+        }
+        events.position(events.position() + length);
+    }
+
+    private int findKeyframe(int tick) {
+        int low = 0;
+        int high = keyframeTicks.length - 1;
+        int found = -1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (keyframeTicks[middle] <= tick) {
+                found = middle;
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return found;
+    }
+}
@@ -0,0 +1,213 @@
+package com.obstacleavoid.replay;
+
+import com.badlogic.gdx.math.RandomXS128;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntArray;
+import com.obstacleavoid.collision.BroadphaseType;
+import com.obstacleavoid.config.DifficultyLevel;
+import com.obstacleavoid.config.GameConfig;
+import com.obstacleavoid.config.SimulationMode;
+import com.obstacleavoid.input.PlayerInput;
+import com.obstacleavoid.screen.game.GameController;
+import com.obstacleavoid.spawn.PatternLibrary;
+import com.obstacleavoid.spawn.SpawnScheduler;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Graba una partida: envuelve la entrada del jugador y guarda solo los cambios de direccion,
+ * mas un keyframe con el estado completo cada keyframeInterval ticks para poder saltar.
+ * Se escribe a traves de un ByteBuffer directo que se vuelca al fichero cuando se llena.
+ * El recorder crea su GameController con la semilla, el modo y las apariciones que graba en
+ * la cabecera; el keyframe se escribe en poll(), al inicio del tick, asi basta con llamar a
+ * controller.update(delta) desde cualquier bucle. No admite rebobinar el controller.
+ */
+public class ReplayRecorder implements PlayerInput {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final PlayerInput source;
+    private final int keyframeInterval;
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private ByteBuffer stateBuffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+    private final IntArray keyframeTicks = new IntArray();
+    private final IntArray keyframeOffsets = new IntArray();
+
+    private final GameController controller;
+    private int tick;
+    private int lastEventTick;
+    private int direction = NONE;
+    private float targetX = NO_TARGET;
+
+    public ReplayRecorder(File file, PlayerInput source, DifficultyLevel difficultyLevel, long seed) {
+        this(file, source, difficultyLevel, seed, SimulationMode.CLASSIC, null, ReplayFormat.DEFAULT_KEYFRAME_INTERVAL);
+    }
+
+    /**
+     * @param patterns null para la aparicion aleatoria; al reproducir hace falta la misma libreria
+     */
+    public ReplayRecorder(File file, PlayerInput source, DifficultyLevel difficultyLevel, long seed,
+                          SimulationMode simulationMode, PatternLibrary patterns) {
+        this(file, source, difficultyLevel, seed, simulationMode, patterns, ReplayFormat.DEFAULT_KEYFRAME_INTERVAL);
+    }
+
+    public ReplayRecorder(File file, PlayerInput source, DifficultyLevel difficultyLevel, long seed,
+                          SimulationMode simulationMode, PatternLibrary patterns, int keyframeInterval) {
+        if (keyframeInterval < 1) {
+            throw new IllegalArgumentException("keyframeInterval must be > 0");
+        }
+        this.source = source;
+        this.keyframeInterval = keyframeInterval;
+        RandomXS128 random = new RandomXS128(seed);
+        controller = new GameController(this, difficultyLevel, BroadphaseType.SPATIAL_HASH, random, simulationMode);
+        if (patterns != null) {
+            controller.setSpawnScheduler(new SpawnScheduler(patterns, random));
+        }
+        try {
+            channel = new FileOutputStream(file).getChannel();
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Error creating replay " + file, e);
+        }
+
+        buffer.putInt(ReplayFormat.MAGIC);
+        buffer.put(ReplayFormat.VERSION);
+        buffer.put((byte) difficultyLevel.ordinal());
+        buffer.putLong(seed);
+        buffer.putShort((short) GameConfig.TICKS_PER_SECOND);
+        buffer.putInt(keyframeInterval);
+        buffer.put((byte) simulationMode.ordinal());
+        buffer.put(patterns != null ? ReplayFormat.FLAG_PATTERN_SPAWNS : 0);
+    }
+
+    public GameController getController() {
+        return controller;
+    }
+
+    // el controller llama a poll() al inicio de cada tick que simula, nunca tras el fin de partida
+    @Override
+    public void poll() {
+        tick = controller.getTick();
+        if (tick % keyframeInterval == 0) {
+            writeKeyframe();
+        }
+        source.poll();
+    }
+
+    @Override
+    public int getDirection() {
+        int newDirection = source.getDirection();
+        if (newDirection != direction) {
+            direction = newDirection;
+            ensureRemaining(ReplayFormat.MAX_EVENT_HEADER_BYTES);
+            writeEventHeader(ReplayFormat.EVENT_DIRECTION);
+            buffer.put((byte) direction);
+        }
+        return newDirection;
+    }
+
+    @Override
+    public float getTargetX() {
+        float newTargetX = source.getTargetX();
+        if (newTargetX != targetX) {
+            targetX = newTargetX;
+            ensureRemaining(ReplayFormat.MAX_EVENT_HEADER_BYTES);
+            writeEventHeader(ReplayFormat.EVENT_TARGET);
+            buffer.putFloat(targetX);
+        }
+        return newTargetX;
+    }
+
+    /**
+     * Escribe el final, el indice de keyframes y cierra el fichero.
+     */
+    public void close() {
+        try {
+            tick = controller.getTick();
+            ensureRemaining(ReplayFormat.MAX_EVENT_HEADER_BYTES);
+            writeEventHeader(ReplayFormat.EVENT_END);
+
+            int indexOffset = position();
+            ensureRemaining(4);
+            buffer.putInt(keyframeTicks.size);
+            for (int i = 0; i < keyframeTicks.size; i++) {
+                ensureRemaining(8);
+                buffer.putInt(keyframeTicks.get(i));
+                buffer.putInt(keyframeOffsets.get(i));
+            }
+            ensureRemaining(ReplayFormat.TRAILER_BYTES);
+            buffer.putInt(tick);
+            buffer.putInt(indexOffset);
+            buffer.putInt(ReplayFormat.MAGIC);
+            flush();
+            channel.close();
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Error closing replay", e);
+        }
+    }
+
+    private void writeKeyframe() {
+        int stateSize = controller.getStateSize();
+        if (stateBuffer.capacity() < stateSize) {
+            stateBuffer = ByteBuffer.allocateDirect(stateSize * 2);
+        }
+        stateBuffer.clear();
+        controller.writeState(stateBuffer);
+        stateBuffer.flip();
+
+        ensureRemaining(ReplayFormat.MAX_EVENT_HEADER_BYTES);
+        writeEventHeader(ReplayFormat.EVENT_KEYFRAME);
+        keyframeTicks.add(tick);
+        keyframeOffsets.add(position());
+        buffer.put((byte) direction);
+        buffer.putFloat(targetX);
+        buffer.putInt(stateBuffer.remaining());
+
+        // el estado puede ser mayor que el buffer, se escribe directamente
+        flush();
+        try {
+            while (stateBuffer.hasRemaining()) {
+                channel.write(stateBuffer);
+            }
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Error writing replay", e);
+        }
+    }
+
+    private void writeEventHeader(byte type) {
+        ReplayFormat.putVarInt(buffer, tick - lastEventTick);
+        buffer.put(type);
+        lastEventTick = tick;
+    }
+
+    private int position() {
+        try {
+            return (int) channel.position() + buffer.position();
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Error writing replay", e);
+        }
+    }
+
+    private void ensureRemaining(int bytes) {
+        if (buffer.remaining() < bytes) {
+            flush();
+        }
+    }
+
+    private void flush() {
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException e) {
+            throw new GdxRuntimeException("Error writing replay", e);
+        }
+        buffer.clear();
+    }
+}
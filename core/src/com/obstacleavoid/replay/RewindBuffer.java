@@ -0,0 +1,143 @@
+package com.obstacleavoid.replay;
+
+import com.obstacleavoid.screen.game.GameController;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Buffer circular de capturas del GameController, una cada interval ticks.
+ * Todas las capturas van seguidas en un solo array de bytes reservado al crear el buffer,
+ * asi que grabar no genera basura aunque cambie el numero de obstaculos. Si una captura no
+ * cabe (mas de capacity o mas bytes de los previstos), se descartan las mas antiguas.
+ */
+public class RewindBuffer {
+
+    private final int interval;
+    // capturas una detras de otra; al llegar al final se sigue desde 0
+    private final ByteBuffer data;
+    private final int[] offsets;
+    private final int[] lengths;
+    private final int[] ticks;
+    private int head;
+    private int size;
+
+    /**
+     * @param maxStateSize bytes de la captura mas grande prevista, ver GameController.getMaxStateSize()
+     */
+    public RewindBuffer(int capacity, int interval, int maxStateSize) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be > 0");
+        }
+        if (interval < 1) {
+            throw new IllegalArgumentException("interval must be > 0");
+        }
+        if (maxStateSize < GameController.STATE_HEADER_BYTES) {
+            throw new IllegalArgumentException("maxStateSize must hold at least the state header");
+        }
+        this.interval = interval;
+        data = ByteBuffer.allocate(capacity * maxStateSize);
+        offsets = new int[capacity];
+        lengths = new int[capacity];
+        ticks = new int[capacity];
+    }
+
+    /**
+     * Llamar antes de cada update, guarda una captura si toca en este tick.
+     */
+    public void record(GameController controller) {
+        int tick = controller.getTick();
+        if (tick % interval != 0 || (size > 0 && ticks[newest()] == tick)) {
+            return;
+        }
+        save(controller);
+    }
+
+    public void save(GameController controller) {
+        int stateSize = controller.getStateSize();
+        if (stateSize > data.capacity()) {
+            // ni sola cabe: sin capturas hasta que la partida vuelva a caber
+            clear();
+            return;
+        }
+
+        int offset = 0;
+        if (size > 0) {
+            int newest = newest();
+            offset = offsets[newest] + lengths[newest];
+            if (offset + stateSize > data.capacity()) {
+                offset = 0;
+            }
+        }
+        // se pisan las mas antiguas, siempre desde la primera para mantener el orden
+        while (size > 0 && (size == offsets.length || overlapsAny(offset, stateSize))) {
+            head = (head + 1) % offsets.length;
+            size--;
+        }
+
+        int slot = (head + size) % offsets.length;
+        size++;
+        data.limit(data.capacity());
+        data.position(offset);
+        controller.writeState(data);
+        offsets[slot] = offset;
+        lengths[slot] = data.position() - offset;
+        ticks[slot] = controller.getTick();
+    }
+
+    /**
+     * Vuelve a la captura mas reciente que este al menos ticksBack ticks por detras
+     * (o a la mas antigua) y descarta las posteriores.
+     *
+     * @return tick restaurado, o -1 si no hay capturas
+     */
+    public int rewind(GameController controller, int ticksBack) {
+        if (size == 0) {
+            return -1;
+        }
+        int target = controller.getTick() - ticksBack;
+        while (size > 1 && ticks[newest()] > target) {
+            size--;
+        }
+        return restore(controller, newest());
+    }
+
+    /**
+     * Restaura la captura mas reciente sin descartarla, p. ej. para que un bot pruebe otra rama.
+     */
+    public int restoreLatest(GameController controller) {
+        if (size == 0) {
+            return -1;
+        }
+        return restore(controller, newest());
+    }
+
+    public void clear() {
+        head = 0;
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private int restore(GameController controller, int slot) {
+        data.limit(offsets[slot] + lengths[slot]);
+        data.position(offsets[slot]);
+        controller.readState(data);
+        return ticks[slot];
+    }
+
+    private boolean overlapsAny(int offset, int length) {
+        for (int n = 0; n < size; n++) {
+            int slot = (head + n) % offsets.length;
+            if (offset < offsets[slot] + lengths[slot] && offsets[slot] < offset + length) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int newest() {
+        return (head + size - 1) % offsets.length;
+    }
+}
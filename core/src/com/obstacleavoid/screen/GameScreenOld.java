@@ -142,7 +142,7 @@ public class GameScreenOld implements Screen {
 
     private void updateObstacles(float delta) {
         for (Obstacle obstacle : obstacles) {
-            obstacle.update();
+            obstacle.update(delta);
         }
         createNewObstacle(delta);
     }
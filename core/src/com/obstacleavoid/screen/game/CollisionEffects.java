@@ -0,0 +1,244 @@
+package com.obstacleavoid.screen.game;
+
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.ParticleEffect;
+import com.badlogic.gdx.graphics.g2d.ParticleEffectPool;
+import com.badlogic.gdx.graphics.g2d.ParticleEffectPool.PooledEffect;
+import com.badlogic.gdx.graphics.g2d.ParticleEmitter;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.IntArray;
+
+/**
+ * Explosion en cada choque y estela detras del jugador, sacadas de ParticleEffectPool.
+ * Las copias de los efectos y sus particulas se crean al construirla, asi un choque solo
+ * saca un efecto del pool sin reservar memoria. Los efectos vivos se liberan solos al
+ * terminar, al recolocar al jugador y al rebobinar. Si las particulas vivas pasan del
+ * presupuesto se liberan primero los efectos de menor prioridad y, entre iguales, los
+ * mas viejos. Solo lee la GameSnapshot: los choques se ven por su contador aunque se
+ * salten capturas.
+ */
+public class CollisionEffects implements Disposable {
+
+    private static final int TRAIL_PRIORITY = 0;
+    private static final int EXPLOSION_PRIORITY = 1;
+    // la estela vuelve solo con margen, si no entraria y saldria cada frame
+    private static final float TRAIL_RESUME_BUDGET = 0.75f;
+
+    private final ParticleEffectPool explosionPool;
+    private final ParticleEffectPool trailPool;
+    private final int explosionCost;
+    private final int trailCost;
+    private final int explosionCapacity;
+    private final int particleBudget;
+
+    // efectos vivos en orden de creacion, con su prioridad en el mismo indice
+    private final Array<PooledEffect> effects;
+    private final IntArray priorities;
+    private PooledEffect trail;
+    private int explosionCount;
+    private int liveParticles;
+    // -1 hasta la primera captura: los choques anteriores no se dibujan
+    private int lastCollisions = -1;
+    private int lastLives;
+    private int lastTick;
+
+    public CollisionEffects(ParticleEffect explosion, ParticleEffect trail, int particleBudget) {
+        if (explosion == null || trail == null) {
+            throw new IllegalArgumentException("explosion and trail effects are required");
+        }
+        explosionCost = getMaxParticles(explosion);
+        trailCost = getMaxParticles(trail);
+        if (particleBudget < explosionCost) {
+            throw new IllegalArgumentException("particleBudget must fit at least one explosion");
+        }
+        this.particleBudget = particleBudget;
+        // con cada explosion al maximo no caben mas; de sobra las que ya se apagan
+        explosionCapacity = particleBudget / explosionCost + 1;
+
+        explosionPool = new ParticleEffectPool(explosion, explosionCapacity, explosionCapacity);
+        trailPool = new ParticleEffectPool(trail, 1, 1);
+        prefill(explosionPool, explosionCapacity);
+        prefill(trailPool, 1);
+
+        effects = new Array<PooledEffect>(explosionCapacity + 1);
+        priorities = new IntArray(explosionCapacity + 1);
+    }
+
+    /**
+     * Avanza los efectos y lanza los de los choques nuevos de la captura.
+     */
+    public void update(float delta, GameSnapshot snapshot, float alpha) {
+        if (snapshot.getTick() < lastTick) {
+            // rebobinado: lo que habia en pantalla ya no ha pasado
+            clear();
+            lastCollisions = -1;
+        }
+        lastTick = snapshot.getTick();
+
+        int collisions = snapshot.getCollisions();
+        if (lastCollisions >= 0 && collisions > lastCollisions) {
+            spawnExplosion(snapshot.getCollisionX(), snapshot.getCollisionY());
+            if (snapshot.getLives() < lastLives) {
+                // el choque recoloca al jugador, la estela no debe cruzar la pantalla
+                freeTrail();
+            }
+        }
+        lastCollisions = collisions;
+        lastLives = snapshot.getLives();
+
+        if (snapshot.isGameOver()) {
+            freeTrail();
+        } else if (trail == null && liveParticles + trailCost <= particleBudget * TRAIL_RESUME_BUDGET) {
+            trail = obtain(trailPool, TRAIL_PRIORITY);
+        }
+        if (trail != null) {
+            trail.setPosition(snapshot.getPlayerX(alpha) + snapshot.getPlayerWidth() / 2f, snapshot.getPlayerY(alpha));
+        }
+
+        liveParticles = 0;
+        for (int i = effects.size - 1; i >= 0; i--) {
+            PooledEffect effect = effects.get(i);
+            effect.update(delta);
+            if (effect.isComplete()) {
+                free(i);
+            } else {
+                liveParticles += getActiveParticles(effect);
+            }
+        }
+        makeRoom(0, Integer.MAX_VALUE, explosionCapacity);
+    }
+
+    /**
+     * Con el batch ya empezado; deja la mezcla normal al terminar.
+     */
+    public void draw(Batch batch) {
+        for (int i = 0; i < effects.size; i++) {
+            effects.get(i).draw(batch);
+        }
+        batch.setBlendFunction(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+    }
+
+    public boolean hasEffects() {
+        return effects.size > 0;
+    }
+
+    public int getLiveParticles() {
+        return liveParticles;
+    }
+
+    /**
+     * Devuelve todos los efectos a sus pools.
+     */
+    public void clear() {
+        for (int i = effects.size - 1; i >= 0; i--) {
+            free(i);
+        }
+        liveParticles = 0;
+    }
+
+    @Override
+    public void dispose() {
+        // las imagenes son del atlas y los efectos originales del AssetManager
+        clear();
+        explosionPool.clear();
+        trailPool.clear();
+    }
+
+    private void spawnExplosion(float x, float y) {
+        // se hace sitio con lo de menos prioridad o las explosiones mas viejas
+        makeRoom(explosionCost, EXPLOSION_PRIORITY, explosionCapacity - 1);
+        PooledEffect explosion = obtain(explosionPool, EXPLOSION_PRIORITY);
+        explosion.setPosition(x, y);
+        explosionCount++;
+        // se reserva el maximo hasta medirla en el siguiente update
+        liveParticles += explosionCost;
+    }
+
+    private PooledEffect obtain(ParticleEffectPool pool, int priority) {
+        PooledEffect effect = pool.obtain();
+        effect.start();
+        effects.add(effect);
+        priorities.add(priority);
+        return effect;
+    }
+
+    private void freeTrail() {
+        if (trail != null) {
+            free(effects.indexOf(trail, true));
+        }
+    }
+
+    private void makeRoom(int particles, int maxPriority, int maxExplosions) {
+        while (liveParticles + particles > particleBudget || explosionCount > maxExplosions) {
+            if (!freeLowest(maxPriority)) {
+                return;
+            }
+        }
+    }
+
+    // libera el efecto mas viejo de menor prioridad que no pase de maxPriority
+    private boolean freeLowest(int maxPriority) {
+        int lowest = -1;
+        for (int i = 0; i < effects.size; i++) {
+            int priority = priorities.get(i);
+            if (priority <= maxPriority && (lowest < 0 || priority < priorities.get(lowest))) {
+                lowest = i;
+            }
+        }
+        if (lowest < 0) {
+            return false;
+        }
+        liveParticles -= Math.min(liveParticles, getActiveParticles(effects.get(lowest)));
+        free(lowest);
+        return true;
+    }
+
+    private void free(int index) {
+        PooledEffect effect = effects.removeIndex(index);
+        priorities.removeIndex(index);
+        if (effect == trail) {
+            trail = null;
+        } else {
+            explosionCount--;
+        }
+        effect.free();
+    }
+
+    // copias y particulas creadas ahora y no en el primer choque
+    private static void prefill(ParticleEffectPool pool, int count) {
+        Array<PooledEffect> warm = new Array<PooledEffect>(count);
+        for (int i = 0; i < count; i++) {
+            PooledEffect effect = pool.obtain();
+            effect.setEmittersCleanUpBlendFunction(false);
+            Array<ParticleEmitter> emitters = effect.getEmitters();
+            for (int j = 0; j < emitters.size; j++) {
+                ParticleEmitter emitter = emitters.get(j);
+                emitter.addParticles(emitter.getMaxParticleCount());
+            }
+            warm.add(effect);
+        }
+        for (int i = 0; i < warm.size; i++) {
+            warm.get(i).free();
+        }
+    }
+
+    private static int getMaxParticles(ParticleEffect effect) {
+        int count = 0;
+        Array<ParticleEmitter> emitters = effect.getEmitters();
+        for (int i = 0; i < emitters.size; i++) {
+            count += emitters.get(i).getMaxParticleCount();
+        }
+        return count;
+    }
+
+    private static int getActiveParticles(ParticleEffect effect) {
+        int count = 0;
+        Array<ParticleEmitter> emitters = effect.getEmitters();
+        for (int i = 0; i < emitters.size; i++) {
+            count += emitters.get(i).getActiveCount();
+        }
+        return count;
+    }
+}
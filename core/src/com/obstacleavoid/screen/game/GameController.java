@@ -1,37 +1,90 @@
 package com.obstacleavoid.screen.game;
 
 import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.Input;
 import com.badlogic.gdx.math.MathUtils;
-import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.math.Circle;
+import com.badlogic.gdx.math.RandomXS128;
 import com.badlogic.gdx.utils.Logger;
-import com.badlogic.gdx.utils.Pool;
-import com.badlogic.gdx.utils.Pools;
-import com.obstacleavoid.common.GameManager;
+import com.obstacleavoid.collision.Broadphase;
+import com.obstacleavoid.collision.BroadphaseType;
 import com.obstacleavoid.config.DifficultyLevel;
 import com.obstacleavoid.config.GameConfig;
+import com.obstacleavoid.config.SimulationMode;
+import com.obstacleavoid.ecs.EcsWorld;
 import com.obstacleavoid.entity.Background;
-import com.obstacleavoid.entity.Obstacle;
+import com.obstacleavoid.entity.ObstacleStore;
 import com.obstacleavoid.entity.Player;
+import com.obstacleavoid.input.PlayerInput;
+import com.obstacleavoid.spawn.SpawnPattern;
+import com.obstacleavoid.spawn.SpawnScheduler;
+
+import java.nio.ByteBuffer;
 
 public class GameController {
 
-    private static final Logger log = new Logger(GameController.class.getName(), Logger.DEBUG);
+    // sin backend (headless) no hay Gdx.app donde escribir el log
+    private static final Logger log = new Logger(GameController.class.getName(), Gdx.app != null ? Logger.DEBUG : Logger.NONE);
+
+    // ticks, vidas, golpes, puntos, timers, generador, jugador y numero de obstaculos
+    public static final int STATE_HEADER_BYTES = 5 * 4 + 2 * 4 + 2 * 8 + 2 * 4 + 4;
+
+    private static final int STRESS_TICKS = (int) (GameConfig.STRESS_SECONDS * GameConfig.TICKS_PER_SECOND);
+
+    private final PlayerInput input;
+    private final DifficultyLevel difficultyLevel;
+    // cada partida con su propio generador, se pueden simular varias en paralelo
+    private final RandomXS128 random;
     private Player player;
-    private Array<Obstacle> obstacles = new Array<Obstacle>();
+    private final ObstacleStore obstacles = new ObstacleStore();
+    private final Broadphase broadphase;
+    // null en modo clasico
+    private EcsWorld world;
+    // null: un obstaculo aleatorio cada OBSTACLE_SPAWN_TIME
+    private SpawnScheduler spawnScheduler;
+    private final SpawnScheduler.Listener spawnListener = new SpawnScheduler.Listener() {
+        @Override
+        public void spawn(float x) {
+            addObstacle(x);
+        }
+    };
     private Background background; // Inicion Background
     private float obstacleTimer;
     private float scoreTimer;
     private int lives = GameConfig.LIVES_START;
+    // golpes en modo stress, donde no quitan vidas
+    private int hits;
+    // choques y centro del jugador en el ultimo, solo para los efectos; no entra en el estado
+    private int collisions;
+    private float collisionX;
+    private float collisionY;
     private int score;
     private int displayScore;
+    private int tick;
     private final float startPlayerX = (GameConfig.WORLD_WIDTH - GameConfig.PLAYER_SIZE) / 2f;
     private final float startPlayerY = 1 - GameConfig.PLAYER_SIZE / 2f;
 
-    private Pool<Obstacle> obstaclePool;
+    public GameController(PlayerInput input, DifficultyLevel difficultyLevel) {
+        this(input, difficultyLevel, BroadphaseType.SPATIAL_HASH);
+    }
+
+    public GameController(PlayerInput input, DifficultyLevel difficultyLevel, BroadphaseType broadphaseType) {
+        this(input, difficultyLevel, broadphaseType, new RandomXS128());
+    }
+
+    public GameController(PlayerInput input, DifficultyLevel difficultyLevel, BroadphaseType broadphaseType, RandomXS128 random) {
+        this(input, difficultyLevel, broadphaseType, random, SimulationMode.CLASSIC);
+    }
 
-    public GameController() {
+    public GameController(PlayerInput input, DifficultyLevel difficultyLevel, BroadphaseType broadphaseType, RandomXS128 random,
+                          SimulationMode simulationMode) {
+        this.input = input;
+        this.difficultyLevel = difficultyLevel;
+        this.random = random;
+        broadphase = broadphaseType.create(obstacles);
         init();
+        if (simulationMode == SimulationMode.ECS) {
+            world = new EcsWorld(input, difficultyLevel, random, player);
+        }
     }
 
     private void init() {
@@ -39,8 +92,7 @@ public class GameController {
         player = new Player(); //Instacear Jugador
         // posicion del jugador
         player.setPosition(startPlayerX, startPlayerY);
-        //create obstacle pool
-        obstaclePool = Pools.get(Obstacle.class, 40);
+        player.savePreviousPosition();
         // crear background y posicion
         background = new Background();
         background.setPosition(0, 0);
@@ -55,21 +107,43 @@ public class GameController {
         }
 
 
-        updatePlayer();
+        // eventos de entrada pendientes, antes de simular el tick
+        input.poll();
+
+        tick++;
+        boolean collided;
+        if (world != null) {
+            world.update(delta);
+            collided = world.consumeCollision();
+        } else {
+            savePreviousPositions();
 
-        updateObstacles(delta);
+            updatePlayer(delta);
+
+            updateObstacles(delta);
+
+            collided = isPlayerCollidingWithObstcle();
+        }
 
         updateScore(delta);
 
         updateDisplayScore(delta);
 
-        if (isPlayerCollidingWithObstcle()) {
+        if (collided) {
+            // antes de restart(), que recoloca al jugador
+            collisions++;
+            collisionX = player.getX() + player.getWidth() / 2f;
+            collisionY = player.getY() + player.getHeight() / 2f;
+        }
+
+        if (collided && difficultyLevel.isStress()) {
+            hits++;
+        } else if (collided) {
             log.debug("Collision detected");
             lives--;
 
             if (isGameOver()) {
                 log.debug("Game Over!!");
-                GameManager.INSTANCE.updateHighScore(score);
             } else {
                 restart();
             }
@@ -81,10 +155,35 @@ public class GameController {
         return player;
     }
 
-    public Array<Obstacle> getObstacles() {
+    /**
+     * En modo ECS los obstaculos son entidades de getWorld() y el store queda vacio.
+     */
+    public ObstacleStore getObstacles() {
         return obstacles;
     }
 
+    public EcsWorld getWorld() {
+        return world;
+    }
+
+    /**
+     * Apariciones por patrones en lugar de aleatorias, antes del primer update().
+     */
+    public void setSpawnScheduler(SpawnScheduler spawnScheduler) {
+        this.spawnScheduler = spawnScheduler;
+        if (world != null) {
+            world.setSpawnScheduler(spawnScheduler);
+        }
+    }
+
+    public SpawnScheduler getSpawnScheduler() {
+        return spawnScheduler;
+    }
+
+    public int getObstacleCount() {
+        return world != null ? world.getObstacleCount() : obstacles.size();
+    }
+
     public Background getBackground() {
         return background;
     }
@@ -93,44 +192,155 @@ public class GameController {
         return lives;
     }
 
+    public int getHits() {
+        return hits;
+    }
+
+    public int getCollisions() {
+        return collisions;
+    }
+
+    public float getCollisionX() {
+        return collisionX;
+    }
+
+    public float getCollisionY() {
+        return collisionY;
+    }
+
     public int getDisplayScore() {
         return displayScore;
     }
 
+    public int getScore() {
+        return score;
+    }
+
+    public int getTick() {
+        return tick;
+    }
+
+    public DifficultyLevel getDifficultyLevel() {
+        return difficultyLevel;
+    }
+
+    /**
+     * Estado completo de la simulacion entre dos ticks, incluido el generador aleatorio.
+     */
+    public void writeState(ByteBuffer buffer) {
+        buffer.putInt(tick);
+        buffer.putInt(lives);
+        buffer.putInt(hits);
+        buffer.putInt(score);
+        buffer.putInt(displayScore);
+        buffer.putFloat(world != null ? world.getObstacleTimer() : obstacleTimer);
+        buffer.putFloat(scoreTimer);
+        buffer.putLong(random.getState(0));
+        buffer.putLong(random.getState(1));
+        buffer.putFloat(player.getX());
+        buffer.putFloat(player.getY());
+        if (world != null) {
+            world.writeObstacles(buffer);
+        } else {
+            obstacles.write(buffer);
+        }
+        if (spawnScheduler != null) {
+            spawnScheduler.write(buffer);
+        }
+    }
+
+    public void readState(ByteBuffer buffer) {
+        tick = buffer.getInt();
+        lives = buffer.getInt();
+        hits = buffer.getInt();
+        score = buffer.getInt();
+        displayScore = buffer.getInt();
+        obstacleTimer = buffer.getFloat();
+        if (world != null) {
+            world.setObstacleTimer(obstacleTimer);
+        }
+        scoreTimer = buffer.getFloat();
+        long seed0 = buffer.getLong();
+        long seed1 = buffer.getLong();
+        random.setState(seed0, seed1);
+        float playerX = buffer.getFloat();
+        float playerY = buffer.getFloat();
+        player.setPosition(playerX, playerY);
+        player.savePreviousPosition();
+        if (world != null) {
+            world.readObstacles(buffer);
+        } else {
+            obstacles.read(buffer);
+        }
+        if (spawnScheduler != null) {
+            spawnScheduler.read(buffer);
+        }
+    }
+
+    public int getStateSize() {
+        int size = STATE_HEADER_BYTES + getObstacleCount() * ObstacleStore.BYTES_PER_OBSTACLE;
+        return spawnScheduler != null ? size + spawnScheduler.getStateSize() : size;
+    }
+
+    /**
+     * getStateSize() con el maximo de obstaculos de la dificultad. Con patrones de aparicion
+     * el estado puede pasarse; el RewindBuffer lo absorbe descartando capturas.
+     */
+    public int getMaxStateSize() {
+        int size = STATE_HEADER_BYTES + difficultyLevel.getMaxObstacles() * ObstacleStore.BYTES_PER_OBSTACLE;
+        return spawnScheduler != null ? size + spawnScheduler.getStateSize() : size;
+    }
+
     // private methods
 
 
     private void restart() {
-        obstaclePool.freeAll(obstacles);
         obstacles.clear();
+        if (world != null) {
+            world.clearObstacles();
+        }
         player.setPosition(startPlayerX, startPlayerY);
+        player.savePreviousPosition();
     }
 
 
     public boolean isGameOver() {
+        if (difficultyLevel.isStress()) {
+            return tick >= STRESS_TICKS;
+        }
         return lives <= 0;
     }
 
-    private void updatePlayer() {
+    private void savePreviousPositions() {
+        player.savePreviousPosition();
+        obstacles.savePreviousPositions();
+    }
 
+    private void updatePlayer(float delta) {
 
-        float xSpeed = 0;
-        if (Gdx.input.isKeyPressed(Input.Keys.RIGHT)) {
-            xSpeed = GameConfig.MAX_PLAYER_X_SPEED;
-        } else if (Gdx.input.isKeyPressed(Input.Keys.LEFT)) {
-            xSpeed = -GameConfig.MAX_PLAYER_X_SPEED;
-        }
 
-        player.setX(player.getX() + xSpeed);
+        float xSpeed = input.getDirection() * GameConfig.MAX_PLAYER_X_SPEED;
+        float targetX = input.getTargetX();
+
+        if (targetX != PlayerInput.NO_TARGET) {
+            // un toque coloca al jugador directamente
+            player.setX(targetX);
+        } else {
+            player.setX(player.getX() + xSpeed * delta);
+        }
 
 
         blockPlayerFromLeavingTheWorld();
+
+        if (targetX != PlayerInput.NO_TARGET) {
+            // el salto no recorre el camino: sin barrido ni interpolacion desde la x anterior,
+            // solo se barre la caida de los obstaculos
+            player.savePreviousPosition();
+        }
     }
 
     private void updateObstacles(float delta) {
-        for (Obstacle obstacle : obstacles) {
-            obstacle.update();
-        }
+        obstacles.update(delta);
         createNewObstacle(delta);
         removePassedObstacle();
     }
@@ -139,53 +349,61 @@ public class GameController {
         scoreTimer += delta;
 
         if (scoreTimer >= GameConfig.SCORE_MAX_TIME) {
-            score += MathUtils.random(1, 5);
+            score += 1 + random.nextInt(5);
             scoreTimer = 0.0f;
         }
     }
 
     private void updateDisplayScore(float delta) {
         if (displayScore < score) {
-            displayScore = Math.min(score, displayScore + (int) (60 * delta));
+            displayScore = Math.min(score, displayScore + Math.max(1, (int) (60 * delta)));
         }
     }
 
     private void createNewObstacle(float delta) {
+        if (spawnScheduler != null) {
+            spawnScheduler.update(delta, spawnListener);
+            return;
+        }
         obstacleTimer += delta;
-        if (obstacleTimer >= GameConfig.OBSTACLE_SPAWN_TIME) {
-            float min = 0;
-            float max = GameConfig.WORLD_WIDTH - GameConfig.OBSTACLE_SIZE;
-            float obstacleX = MathUtils.random(min, max);
-            float obstacleY = GameConfig.WORLD_HEIGHT;
-
-            Obstacle obstacle = obstaclePool.obtain();
-            DifficultyLevel difficultyLevel = GameManager.INSTANCE.getDifficultyLevel();
-            obstacle.setYSpeed(difficultyLevel.getObstacleSpeed());
-            obstacle.setPosition(obstacleX, obstacleY);
-
-            obstacles.add(obstacle);
+        if (obstacleTimer >= difficultyLevel.getSpawnTime()) {
+            for (int i = 0, count = difficultyLevel.getSpawnCount(); i < count; i++) {
+                addObstacle(SpawnPattern.RANDOM_X);
+            }
             obstacleTimer = 0f;
         }
     }
 
+    // x de 0 (izquierda) a 1 (derecha), o aleatoria
+    private void addObstacle(float x) {
+        float min = 0;
+        float max = GameConfig.WORLD_WIDTH - GameConfig.OBSTACLE_SIZE;
+        float obstacleX = min + (x == SpawnPattern.RANDOM_X ? random.nextFloat() : x) * (max - min);
+        float obstacleY = GameConfig.WORLD_HEIGHT;
+
+        float halfSize = GameConfig.OBSTACLE_SIZE / 2f;
+        obstacles.add(obstacleX + halfSize, obstacleY + halfSize,
+                difficultyLevel.getObstacleSpeed(), GameConfig.OBSTACLE_BOUNDS_RADIUS);
+    }
+
     private void removePassedObstacle() { // desaparece al final los obstaculos del jugador
-        if (obstacles.size > 0) {
-            Obstacle first = obstacles.first();
-            float minObstacleY = -GameConfig.OBSTACLE_SIZE;
-            if (first.getY() < minObstacleY) {
-                obstacles.removeValue(first, true);
-                obstaclePool.free(first);
-            }
-        }
+        // el centro queda medio obstaculo por debajo del borde inferior
+        float minObstacleY = -GameConfig.OBSTACLE_SIZE / 2f;
+        obstacles.removePassed(minObstacleY);
     }
 
     private boolean isPlayerCollidingWithObstcle() {
-        for (Obstacle obstacle : obstacles) {
-            if (obstacle.isNotHit() && obstacle.isPlayerColliding(player)) {
-                return true;
-            }
+        // barrido desde la posicion al inicio del tick, a alta velocidad un obstaculo
+        // puede cruzar al jugador entre dos comprobaciones
+        Circle playerBounds = player.getBounds();
+        float startX = player.getPreviousX() + player.getWidth() / 2f;
+        float startY = player.getPreviousY() + player.getHeight() / 2f;
+        int hit = broadphase.findSweptOverlap(startX, startY, playerBounds.x, playerBounds.y, playerBounds.radius);
+        if (hit < 0) {
+            return false;
         }
-        return false;
+        obstacles.setHit(hit);
+        return true;
     }
 
     private void blockPlayerFromLeavingTheWorld() {
@@ -1,18 +1,21 @@
 package com.obstacleavoid.screen.game;
 
-import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
-import com.badlogic.gdx.graphics.g2d.GlyphLayout;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.FrameBuffer;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
-import com.badlogic.gdx.math.MathUtils;
-import com.badlogic.gdx.math.Vector2;
-import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Align;
 import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.Logger;
 import com.badlogic.gdx.utils.viewport.FitViewport;
 import com.badlogic.gdx.utils.viewport.Viewport;
 import com.obstacleavoid.assets.AssetDescriptors;
@@ -20,13 +23,29 @@ import com.obstacleavoid.assets.RegionNames;
 import com.obstacleavoid.config.DifficultyLevel;
 import com.obstacleavoid.config.GameConfig;
 import com.obstacleavoid.entity.Background;
-import com.obstacleavoid.entity.Obstacle;
-import com.obstacleavoid.entity.Player;
 import com.obstacleavoid.util.GdxUtils;
+import com.obstacleavoid.util.HudText;
 import com.obstacleavoid.util.ViewportUtils;
 import com.obstacleavoid.util.debug.DebugCameraController;
+import com.obstacleavoid.util.debug.DebugGrid;
+import com.obstacleavoid.util.debug.ProfilerOverlay;
 
 public class GameRenderer implements Disposable {
+
+    private static final Logger log = new Logger(GameRenderer.class.getName(), Logger.DEBUG);
+
+    private static final float SIMULATION_TIME_SMOOTHING = 0.1f;
+    private static final float HUD_PADDING = 20f;
+    // obstaculos por llamada de dibujo, de sobra para el modo stress
+    private static final int OBSTACLE_RENDERER_CAPACITY = 8192;
+    private static final float PROFILER_GRAPH_HEIGHT = 100f;
+    // fondo: espacio lejano lento y una copia mas pequena y rapida sumada encima
+    private static final float FAR_LAYER_TILE_HEIGHT = GameConfig.WORLD_HEIGHT;
+    private static final float FAR_LAYER_SPEED = 0.4f;
+    private static final float NEAR_LAYER_TILE_HEIGHT = GameConfig.WORLD_HEIGHT / 2f;
+    private static final float NEAR_LAYER_SPEED = 1.2f;
+    private static final float NEAR_LAYER_ALPHA = 0.35f;
+
     private OrthographicCamera camera;
     private Viewport viewport;
     private ShapeRenderer renderer;
@@ -35,14 +54,36 @@ public class GameRenderer implements Disposable {
     private Viewport hudViewport;
     private final SpriteBatch batch;
     private BitmapFont font;
-    private final GlyphLayout layout = new GlyphLayout();
+    // textos del HUD, se rehacen solo cuando cambia su valor
+    private HudText livesText;
+    private HudText scoreText;
+    private HudText obstaclesText;
+    private HudText hitsText;
+    private HudText simulationText;
     private DifficultyLevel difficultyLevel = DifficultyLevel.MEDIUM;
     private DebugCameraController debugCameraController;
     private final GameController controller;
     private final AssetManager assetManager;
     private TextureRegion playerRegion;
-    private TextureRegion obstacleRegion;
-    private TextureRegion backgroundRegion;
+    private ObstacleRenderer obstacleRenderer;
+    private ParallaxBackground parallaxBackground;
+    // explosiones de los choques y estela del jugador
+    private CollisionEffects collisionEffects;
+    // capa de depuracion (limites y rejilla), apagada por defecto; la rejilla se crea al encenderla
+    private boolean debugEnabled;
+    private DebugGrid debugGrid;
+    // contadores de GL y grafica de frames, se crea al encenderlo
+    private ProfilerOverlay profilerOverlay;
+    // resolucion dinamica, solo con GameConfig.DYNAMIC_RESOLUTION
+    private RenderScaleController renderScale;
+    private FrameBuffer scaledFrameBuffer;
+    // el FrameBuffer ocupa todo el viewport: se dibuja en 0..1
+    private final Matrix4 blitProjection = new Matrix4().setToOrtho2D(0, 0, 1, 1);
+    // tiempo de simulacion por frame, media movil en nanosegundos
+    private float simulationNanos;
+    // zona que ve la camara este frame, en unidades de mundo, para descartar lo que no se ve
+    private final Rectangle view = new Rectangle();
+    private final Rectangle playerBounds = new Rectangle();
 
 
     public GameRenderer(SpriteBatch batch, AssetManager assetManager, GameController controller) {
@@ -60,6 +101,7 @@ public class GameRenderer implements Disposable {
         hudCamera = new OrthographicCamera();
         hudViewport = new FitViewport(GameConfig.HUB_WIDTH, GameConfig.HUB_HEIGHT, hudCamera);
         font = assetManager.get(AssetDescriptors.FONT);
+        initHud();
         // controladores de la camara
         debugCameraController = new DebugCameraController();
         debugCameraController.setStartPosition(GameConfig.WORLD_CENTER_X, GameConfig.WORLD_CENTER_Y);
@@ -67,94 +109,258 @@ public class GameRenderer implements Disposable {
         TextureAtlas gamePlayAtlas = assetManager.get(AssetDescriptors.GAME_PLAY);
 
         playerRegion = gamePlayAtlas.findRegion(RegionNames.PLAYER);
-        obstacleRegion = gamePlayAtlas.findRegion(RegionNames.OBSTACLE);
-        backgroundRegion = gamePlayAtlas.findRegion(RegionNames.BACKGROUND);
+        obstacleRenderer = new ObstacleRenderer(gamePlayAtlas.findRegion(RegionNames.OBSTACLE), OBSTACLE_RENDERER_CAPACITY);
+        Background background = controller.getBackground();
+        parallaxBackground = new ParallaxBackground(background.getX(), background.getY(), background.getWidth(), background.getHeight());
+        Texture spaceTexture = assetManager.get(AssetDescriptors.SPACE_BACKGROUND);
+        parallaxBackground.addLayer(spaceTexture, FAR_LAYER_TILE_HEIGHT, FAR_LAYER_SPEED, 1f, false, 0f);
+        parallaxBackground.addLayer(spaceTexture, NEAR_LAYER_TILE_HEIGHT, NEAR_LAYER_SPEED, NEAR_LAYER_ALPHA, true, 0.5f);
+        collisionEffects = new CollisionEffects(assetManager.get(AssetDescriptors.EXPLOSION_EFFECT),
+                assetManager.get(AssetDescriptors.TRAIL_EFFECT), GameConfig.MAX_PARTICLES);
+
+        if (GameConfig.DYNAMIC_RESOLUTION) {
+            renderScale = new RenderScaleController(GameConfig.FRAME_BUDGET);
+        }
+    }
 
+    private void initHud() {
+        float top = GameConfig.HUB_HEIGHT - font.getCapHeight();
+        livesText = new HudText(font, "LIVES: ");
+        livesText.setPosition(HUD_PADDING, top, 0, Align.left);
+        scoreText = new HudText(font, "SCORE: ");
+        scoreText.setPosition(HUD_PADDING, top, GameConfig.HUB_WIDTH - 2 * HUD_PADDING, Align.right);
+
+        if (controller.getDifficultyLevel().isStress()) {
+            float lineHeight = font.getLineHeight();
+            float y = top - lineHeight * 1.5f;
+            obstaclesText = new HudText(font, "OBSTACLES: ");
+            obstaclesText.setPosition(HUD_PADDING, y, 0, Align.left);
+            hitsText = new HudText(font, "HITS: ");
+            hitsText.setPosition(HUD_PADDING, y - lineHeight, 0, Align.left);
+            // decimas de milisegundo
+            simulationText = new HudText(font, "SIM: ");
+            simulationText.setPosition(HUD_PADDING, y - 2 * lineHeight, 0, Align.left);
+            simulationText.setFormat(1, " ms");
+        }
     }
 
     //public methods
 
-    public void render(float delta) {
+    /**
+     * Dibuja la ultima captura de la simulacion; no lee el GameController, que puede ir en otro hilo.
+     */
+    public void render(float delta, GameSnapshot snapshot, float alpha) {
 
-        debugCameraController.handleDebugInput(delta);
+        // las teclas de la camara de debug solo con el debug activo (F1)
+        if (debugEnabled) {
+            debugCameraController.handleDebugInput(delta);
+        }
         debugCameraController.applyTo(camera);
+        ViewportUtils.getVisibleBounds(camera, view);
 
-        if (Gdx.input.isTouched() && !controller.isGameOver()) {
-            Vector2 screenTouch = new Vector2(Gdx.input.getX(), Gdx.input.getY());
-            Vector2 worldTouch = viewport.unproject(new Vector2(screenTouch));
-            System.out.println("screenTouch = " + screenTouch);
-            System.out.println("worldTouch = " + worldTouch);
+        //limpiar pantalla
+        GdxUtils.clearScreen();
 
-            Player player = controller.getPlayer();
-            worldTouch.x = MathUtils.clamp(worldTouch.x, 0, GameConfig.WORLD_WIDTH - player.getWidth());
-            player.setX(worldTouch.x);
+        if (renderScale != null && renderScale.update(delta)) {
+            log.debug("render scale = " + renderScale.getScale());
         }
 
-        //limpiar pantalla
-        GdxUtils.clearScreen();
+        simulationNanos = simulationNanos * (1 - SIMULATION_TIME_SMOOTHING) + snapshot.getSimulationNanos() * SIMULATION_TIME_SMOOTHING;
 
-        renderGamePlay();
+        parallaxBackground.update(delta);
+        collisionEffects.update(delta, snapshot, alpha);
+        renderGamePlay(snapshot, alpha);
 
         //render / fuentes(letras) ui/hud
-        renderUi();
+        renderUi(snapshot);
 
         //renderizar graficos
-        rendererDebug();
+        if (debugEnabled) {
+            rendererDebug(snapshot);
+        }
 
+        // lo ultimo, para contar todas las pasadas anteriores
+        if (profilerOverlay != null && profilerOverlay.isEnabled()) {
+            hudViewport.apply();
+            profilerOverlay.render(delta, batch, renderer, hudCamera.combined);
+        }
     }
 
-    private void renderGamePlay() {
-        viewport.apply();
-        batch.setProjectionMatrix(camera.combined);
+    public void toggleDebug() {
+        debugEnabled = !debugEnabled;
+        if (debugEnabled && debugGrid == null) {
+            debugGrid = new DebugGrid(viewport.getWorldWidth(), viewport.getWorldHeight());
+        }
+    }
+
+    public boolean isDebugEnabled() {
+        return debugEnabled;
+    }
+
+    public void toggleProfiler() {
+        if (profilerOverlay == null) {
+            profilerOverlay = new ProfilerOverlay(font, HUD_PADDING, HUD_PADDING,
+                    GameConfig.HUB_WIDTH - 2 * HUD_PADDING, PROFILER_GRAPH_HEIGHT);
+        }
+        profilerOverlay.setEnabled(!profilerOverlay.isEnabled());
+    }
+
+    public boolean isProfilerEnabled() {
+        return profilerOverlay != null && profilerOverlay.isEnabled();
+    }
+
+    /**
+     * @return frames exportados, 0 si el profiler no se ha encendido
+     */
+    public int exportProfile(FileHandle file) {
+        return profilerOverlay != null ? profilerOverlay.export(file) : 0;
+    }
+
+    private void renderGamePlay(GameSnapshot snapshot, float alpha) {
+        if (renderScale == null || renderScale.getScale() == 1f) {
+            viewport.apply();
+            drawGamePlay(snapshot, alpha);
+            return;
+        }
+
+        // resolucion interna reducida: se dibuja en el FrameBuffer y se escala al viewport,
+        // el HUD y la depuracion siguen a resolucion nativa
+        FrameBuffer frameBuffer = getScaledFrameBuffer(renderScale.getScale());
+        frameBuffer.begin();
+        GdxUtils.clearScreen();
+        drawGamePlay(snapshot, alpha);
+        frameBuffer.end(viewport.getScreenX(), viewport.getScreenY(), viewport.getScreenWidth(), viewport.getScreenHeight());
+
+        batch.setProjectionMatrix(blitProjection);
+        batch.disableBlending();
         batch.begin();
-        //dibujar background
-        Background background = controller.getBackground();
-        batch.draw(backgroundRegion, background.getX(), background.getY(), background.getWidth(), background.getHeight());
+        // la textura del FrameBuffer tiene el origen abajo
+        batch.draw(frameBuffer.getColorBufferTexture(), 0, 0, 1, 1, 0, 0, 1, 1);
+        batch.end();
+        batch.enableBlending();
+    }
+
+    private FrameBuffer getScaledFrameBuffer(float scale) {
+        int width = Math.max(1, Math.round(viewport.getScreenWidth() * scale));
+        int height = Math.max(1, Math.round(viewport.getScreenHeight() * scale));
+        if (scaledFrameBuffer != null && scaledFrameBuffer.getWidth() == width && scaledFrameBuffer.getHeight() == height) {
+            return scaledFrameBuffer;
+        }
+        if (scaledFrameBuffer != null) {
+            scaledFrameBuffer.dispose();
+        }
+        scaledFrameBuffer = new FrameBuffer(Pixmap.Format.RGB888, width, height, false);
+        scaledFrameBuffer.getColorBufferTexture().setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
+        return scaledFrameBuffer;
+    }
 
+    private void drawGamePlay(GameSnapshot snapshot, float alpha) {
+        //dibujar background
+        parallaxBackground.render(camera.combined);
 
         // dibujar jugador
-        Player player = controller.getPlayer();
-        batch.draw(playerRegion, player.getX(), player.getY(), player.getWidth(), player.getHeight());
+        float playerX = snapshot.getPlayerX(alpha);
+        float playerY = snapshot.getPlayerY(alpha);
+        if (view.overlaps(playerBounds.set(playerX, playerY, snapshot.getPlayerWidth(), snapshot.getPlayerHeight()))) {
+            batch.setProjectionMatrix(camera.combined);
+            batch.begin();
+            batch.draw(playerRegion, playerX, playerY, snapshot.getPlayerWidth(), snapshot.getPlayerHeight());
+            batch.end();
+        }
 
-        // dibujar obstaculos
-        for (Obstacle obstacle : controller.getObstacles()) {
-            batch.draw(obstacleRegion, obstacle.getX(), obstacle.getY(), obstacle.getWidth(), obstacle.getHeight());
+        // dibujar obstaculos, todos en una llamada; solo las filas que se ven
+        boolean cullX = isCullingX(snapshot);
+        float margin = snapshot.getObstacleMargin();
+        obstacleRenderer.begin(camera.combined);
+        for (int k = snapshot.getVisibleStart(view.y), end = snapshot.getVisibleEnd(view.y + view.height); k < end; k++) {
+            int i = snapshot.getVisibleObstacle(k);
+            float x = snapshot.getObstacleX(i);
+            if (cullX && (x + margin < view.x || x - margin > view.x + view.width)) {
+                continue;
+            }
+            obstacleRenderer.draw(x, snapshot.getObstacleY(i, alpha), snapshot.getObstacleSize(i));
+        }
+        obstacleRenderer.end();
+
+        // dibujar particulas, encima de todo
+        if (collisionEffects.hasEffects()) {
+            batch.setProjectionMatrix(camera.combined);
+            batch.begin();
+            collisionEffects.draw(batch);
+            batch.end();
         }
-        batch.end();
     }
 
-    private void renderUi() {
+    private void renderUi(GameSnapshot snapshot) {
         hudViewport.apply();
         batch.setProjectionMatrix(hudCamera.combined); // rendear letra
         batch.begin();
-        String livesText = "LIVES: " + controller.getLives();
-        layout.setText(font, livesText);
+        livesText.setValue(snapshot.getLives());
+        livesText.draw(batch);
+        scoreText.setValue(snapshot.getDisplayScore());
+        scoreText.draw(batch);
 
-        font.draw(batch, livesText, 20, GameConfig.HUB_HEIGHT - layout.height);
-
-        String scoreText = "SCORE: " + controller.getDisplayScore();
-        layout.setText(font, scoreText);
-        font.draw(batch, scoreText, GameConfig.HUB_WIDTH - layout.width - 20, GameConfig.HUB_HEIGHT - layout.height);
+        if (simulationText != null) {
+            renderStressCounters(snapshot);
+        }
         batch.end();
     }
 
-    private void rendererDebug() {
+    // contadores del modo stress: entidades, golpes y coste de la simulacion
+    private void renderStressCounters(GameSnapshot snapshot) {
+        obstaclesText.setValue(snapshot.getObstacleCount());
+        obstaclesText.draw(batch);
+        hitsText.setValue(snapshot.getHits());
+        hitsText.draw(batch);
+        simulationText.setValue((int) (simulationNanos / 100000));
+        simulationText.draw(batch);
+    }
+
+    private void rendererDebug(GameSnapshot snapshot) {
         viewport.apply();
         renderer.setProjectionMatrix(camera.combined);
         renderer.begin(ShapeRenderer.ShapeType.Line);
-        drawDebug();
+        drawDebug(snapshot);
         renderer.end();
-        ViewportUtils.drawGrid(viewport, renderer);
+        debugGrid.render(camera.combined, view);
     }
 
-    private void drawDebug() {
-        Player player = controller.getPlayer();
-        player.drawDebug(renderer);
-        Array<Obstacle> obstacles = controller.getObstacles();
-        for (Obstacle obstacle : obstacles) {
-            obstacle.drawDebug(renderer);
+    private void drawDebug(GameSnapshot snapshot) {
+        if (controller.getDifficultyLevel().isStress()) {
+            // miles de circulos tiran el framerate, el modo stress solo dibuja la rejilla
+            return;
         }
+        // limites al final del tick, sin interpolar
+        float playerX = snapshot.getPlayerX(1) + snapshot.getPlayerWidth() / 2f;
+        float playerY = snapshot.getPlayerY(1) + snapshot.getPlayerHeight() / 2f;
+        if (isVisible(playerX, playerY, snapshot.getPlayerRadius())) {
+            renderer.x(playerX, playerY, 0.1f);
+            renderer.circle(playerX, playerY, snapshot.getPlayerRadius(), 30);
+        }
+        for (int k = snapshot.getVisibleStart(view.y), end = snapshot.getVisibleEnd(view.y + view.height); k < end; k++) {
+            int i = snapshot.getVisibleObstacle(k);
+            float x = snapshot.getObstacleX(i);
+            float y = snapshot.getObstacleY(i);
+            if (!isVisible(x, y, snapshot.getObstacleRadius(i))) {
+                continue;
+            }
+            renderer.x(x, y, 0.1f);
+            renderer.circle(x, y, snapshot.getObstacleRadius(i), 30);
+        }
+    }
 
+    // con la camara sin mover toda la anchura del mundo se ve y basta con las filas
+    private boolean isCullingX(GameSnapshot snapshot) {
+        return view.x > -snapshot.getObstacleMargin() || view.x + view.width < GameConfig.WORLD_WIDTH + snapshot.getObstacleMargin();
+    }
+
+    private boolean isVisible(float x, float y, float radius) {
+        return x + radius >= view.x && x - radius <= view.x + view.width
+                && y + radius >= view.y && y - radius <= view.y + view.height;
+    }
+
+    public Viewport getViewport() {
+        return viewport;
     }
 
     public void resize(int width, int height) {
@@ -166,5 +372,18 @@ public class GameRenderer implements Disposable {
     @Override
     public void dispose() {
         renderer.dispose();
+        obstacleRenderer.dispose();
+        parallaxBackground.dispose();
+        collisionEffects.dispose();
+        if (debugGrid != null) {
+            debugGrid.dispose();
+        }
+        if (scaledFrameBuffer != null) {
+            scaledFrameBuffer.dispose();
+        }
+        if (profilerOverlay != null) {
+            // el GLProfiler cambia Gdx.gl, hay que devolverlo
+            profilerOverlay.setEnabled(false);
+        }
     }
 }
@@ -1,19 +1,61 @@
 package com.obstacleavoid.screen.game;
 
+import com.badlogic.gdx.Application;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input;
 import com.badlogic.gdx.Screen;
 import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.RandomXS128;
 import com.badlogic.gdx.utils.Logger;
+import com.badlogic.gdx.utils.TimeUtils;
 import com.obstacleavoid.ObstacleAvoidGame;
+import com.obstacleavoid.ai.BotPlayerInput;
 import com.obstacleavoid.assets.AssetDescriptors;
+import com.obstacleavoid.assets.AssetPaths;
+import com.obstacleavoid.collision.BroadphaseType;
+import com.obstacleavoid.common.GameManager;
+import com.obstacleavoid.config.GameConfig;
+import com.obstacleavoid.input.EventPlayerInput;
+import com.obstacleavoid.input.InputLatencyTracker;
+import com.obstacleavoid.input.PlayerInput;
+import com.obstacleavoid.replay.ReplayRecorder;
+import com.obstacleavoid.replay.RewindBuffer;
 import com.obstacleavoid.screen.menu.MenuScreen;
+import com.obstacleavoid.spawn.PatternLibrary;
+import com.obstacleavoid.spawn.SpawnScheduler;
+import com.obstacleavoid.util.TripleBuffer;
 
 public class GameScreen implements Screen {
 
     private static final Logger log = new Logger(GameScreen.class.getName(), Logger.DEBUG);
+    private static final int REWIND_KEY = Input.Keys.R;
+    private static final int DEBUG_KEY = Input.Keys.F1;
+    private static final int PROFILER_KEY = Input.Keys.F2;
+    private static final int PROFILER_EXPORT_KEY = Input.Keys.F3;
+    private static final String PROFILER_EXPORT_DIR = "profiler/";
+    // gesto sin teclado: dedos a la vez en la pantalla, se decide al levantarlos todos
+    private static final int PROFILER_TOGGLE_TOUCHES = 3;
+    private static final int PROFILER_EXPORT_TOUCHES = 4;
+    private static final String REPLAY_DIR = "replays/";
     private final ObstacleAvoidGame game;
     private final AssetManager assetManager;
     private GameController controller;
     private GameRenderer renderer;
+    private float accumulator;
+    private final EventPlayerInput eventInput = new EventPlayerInput();
+    private final InputLatencyTracker latencyTracker = new InputLatencyTracker(GameConfig.INPUT_LATENCY_WINDOW_SECONDS);
+    private RewindBuffer rewindBuffer;
+    // capturas para el render; sin hilo de simulacion las escribe y las lee este hilo
+    private final TripleBuffer<GameSnapshot> snapshots =
+            new TripleBuffer<GameSnapshot>(new GameSnapshot(), new GameSnapshot(), new GameSnapshot());
+    // solo con GameConfig.SIMULATION_THREAD
+    private SimulationThread simulationThread;
+    // solo con GameConfig.RECORD_REPLAY, hasta el fin de partida
+    private ReplayRecorder replayRecorder;
+    // mas dedos a la vez desde que se toco la pantalla
+    private int gestureTouches;
 
     public GameScreen(ObstacleAvoidGame game) {
         this.game = game;
@@ -23,21 +65,208 @@ public class GameScreen implements Screen {
     @Override
     public void show() {
         log.debug("show");
-        controller = new GameController();
+        // la semilla queda en el log para poder repetir la partida
+        long seed = MathUtils.random.nextLong();
+        log.debug("seed = " + seed);
+        PlayerInput input = GameConfig.BOT_PLAYER ? new BotPlayerInput() : eventInput;
+        PatternLibrary patterns = GameConfig.PATTERN_SPAWNS ? new PatternLibrary(Gdx.files.internal(AssetPaths.PATTERNS)) : null;
+        if (GameConfig.RECORD_REPLAY) {
+            // el recorder crea el controller con la semilla, el modo y los patrones que graba
+            FileHandle file = Gdx.files.local(REPLAY_DIR + "game_" + TimeUtils.millis() + ".oar");
+            file.parent().mkdirs();
+            replayRecorder = new ReplayRecorder(file.file(), input, GameManager.INSTANCE.getDifficultyLevel(), seed,
+                    GameConfig.SIMULATION_MODE, patterns);
+            controller = replayRecorder.getController();
+            log.debug("recording replay to " + file.path());
+        } else {
+            RandomXS128 random = new RandomXS128(seed);
+            controller = new GameController(input, GameManager.INSTANCE.getDifficultyLevel(),
+                    BroadphaseType.SPATIAL_HASH, random, GameConfig.SIMULATION_MODE);
+            if (patterns != null) {
+                controller.setSpawnScheduler(new SpawnScheduler(patterns, random));
+            }
+        }
+        // capturas del tamano del peor caso de la dificultad, reservadas una vez
+        rewindBuffer = new RewindBuffer(GameConfig.REWIND_SNAPSHOTS, GameConfig.REWIND_SNAPSHOT_INTERVAL,
+                controller.getMaxStateSize());
+        if (input instanceof BotPlayerInput) {
+            ((BotPlayerInput) input).setController(controller);
+        }
         renderer = new GameRenderer(game.getBatch(), assetManager, controller);
+        if (GameConfig.PROFILER) {
+            renderer.toggleProfiler();
+        }
+        eventInput.setViewport(renderer.getViewport());
+        eventInput.setLatencyTracker(latencyTracker);
+        Gdx.input.setInputProcessor(eventInput);
+
+        snapshots.getWriteBuffer().capture(controller, TimeUtils.nanoTime(), 0);
+        snapshots.publish();
+        if (GameConfig.SIMULATION_THREAD) {
+            // a partir de aqui el controller es del hilo de simulacion
+            simulationThread = new SimulationThread(controller, rewindBuffer, snapshots, latencyTracker);
+            simulationThread.start();
+        }
     }
 
     @Override
     public void render(float delta) {
 
-        controller.update(delta);
-        renderer.render(delta);
+        handleDebugInput();
 
-        if (controller.isGameOver()) {
+        GameSnapshot snapshot;
+        float alpha;
+        if (simulationThread == null) {
+            alpha = updateSimulation(delta);
+            snapshot = snapshots.getReadBuffer();
+        } else {
+            // la simulacion va por su cuenta: alpha es el tiempo desde su ultimo tick
+            snapshot = snapshots.getReadBuffer();
+            long sinceTick = TimeUtils.nanoTime() - snapshot.getTickNanos();
+            alpha = MathUtils.clamp(sinceTick / (GameConfig.FIXED_DELTA * 1000000000f), 0f, 1f);
+        }
+
+        renderer.render(delta, snapshot, alpha);
+        reportInputLatency(snapshot.getTick());
+
+        if (snapshot.isGameOver()) {
+            closeReplay();
+            if (GameConfig.BOT_PLAYER) {
+                // prueba larga sin nadie delante: otra partida, sin tocar el record
+                log.debug("bot game over, score = " + snapshot.getScore() + " ticks = " + snapshot.getTick());
+                game.setScreen(new GameScreen(game));
+                return;
+            }
+            if (!controller.getDifficultyLevel().isStress()) {
+                // en stress no hay vidas que perder, la puntuacion no es comparable
+                GameManager.INSTANCE.updateHighScore(snapshot.getScore());
+            }
             game.setScreen(new MenuScreen(game));
         }
     }
 
+    /**
+     * Paso fijo en este hilo y captura para el render.
+     *
+     * @return alpha para interpolar entre los dos ultimos ticks
+     */
+    private float updateSimulation(float delta) {
+        // paso fijo: la simulacion avanza igual a 30, 60 o 144 Hz
+        accumulator += Math.min(delta, GameConfig.FIXED_DELTA * GameConfig.MAX_STEPS_PER_FRAME);
+        int steps = 0;
+        long simulationStart = TimeUtils.nanoTime();
+        while (accumulator >= GameConfig.FIXED_DELTA && steps < GameConfig.MAX_STEPS_PER_FRAME) {
+            rewindBuffer.record(controller);
+            controller.update(GameConfig.FIXED_DELTA);
+            accumulator -= GameConfig.FIXED_DELTA;
+            steps++;
+        }
+        long now = TimeUtils.nanoTime();
+        if (steps == GameConfig.MAX_STEPS_PER_FRAME) {
+            // no recuperar mas de lo permitido, se descarta el tiempo sobrante
+            accumulator %= GameConfig.FIXED_DELTA;
+        }
+
+        latencyTracker.simulated(controller.getTick());
+        snapshots.getWriteBuffer().capture(controller, now, now - simulationStart);
+        snapshots.publish();
+        return accumulator / GameConfig.FIXED_DELTA;
+    }
+
+    // el frame ya esta enviado (falta el swap del backend), se cierran los eventos que ya
+    // muestra su captura; con el hilo de simulacion puede haber consumidos que aun no
+    private void reportInputLatency(int snapshotTick) {
+        if (latencyTracker.presented(TimeUtils.nanoTime(), snapshotTick) && latencyTracker.getSampleCount() > 0) {
+            log.debug(Gdx.app.getType() + " input latency us"
+                    + " consumed p50 = " + latencyTracker.getConsumedPercentile(50)
+                    + " p99 = " + latencyTracker.getConsumedPercentile(99)
+                    + " presented p50 = " + latencyTracker.getPresentedPercentile(50)
+                    + " p99 = " + latencyTracker.getPresentedPercentile(99)
+                    + " events = " + latencyTracker.getSampleCount());
+        }
+    }
+
+    // la repeticion la escribe el hilo de simulacion, se cierra con el hilo ya parado
+    private void closeReplay() {
+        if (replayRecorder == null) {
+            return;
+        }
+        if (simulationThread != null) {
+            simulationThread.stop();
+        }
+        replayRecorder.close();
+        replayRecorder = null;
+        log.debug("replay closed at tick " + controller.getTick());
+    }
+
+    private void handleDebugInput() {
+        handleProfilerGesture();
+
+        if (Gdx.app.getType() != Application.ApplicationType.Desktop) {
+            return;
+        }
+
+        if (Gdx.input.isKeyJustPressed(REWIND_KEY) && replayRecorder != null) {
+            // la repeticion solo avanza, rebobinar la dejaria inservible
+            log.debug("rewind disabled while recording a replay");
+        } else if (Gdx.input.isKeyJustPressed(REWIND_KEY)) {
+            int ticksBack = (int) (GameConfig.REWIND_SECONDS * GameConfig.TICKS_PER_SECOND);
+            if (simulationThread != null) {
+                // el hilo de simulacion rebobina al inicio de su siguiente vuelta
+                simulationThread.requestRewind(ticksBack);
+            } else {
+                int tick = rewindBuffer.rewind(controller, ticksBack);
+                log.debug("rewind to tick " + tick);
+            }
+        }
+
+        if (Gdx.input.isKeyJustPressed(DEBUG_KEY)) {
+            renderer.toggleDebug();
+            log.debug("debug overlay = " + renderer.isDebugEnabled());
+        }
+
+        if (Gdx.input.isKeyJustPressed(PROFILER_KEY)) {
+            toggleProfiler();
+        }
+
+        if (Gdx.input.isKeyJustPressed(PROFILER_EXPORT_KEY)) {
+            exportProfile();
+        }
+    }
+
+    // en escritorio solo hay un puntero, el gesto no llega a dispararse
+    private void handleProfilerGesture() {
+        int touches = 0;
+        for (int pointer = 0; pointer < PROFILER_EXPORT_TOUCHES; pointer++) {
+            if (Gdx.input.isTouched(pointer)) {
+                touches++;
+            }
+        }
+        if (touches > 0) {
+            gestureTouches = Math.max(gestureTouches, touches);
+            return;
+        }
+        if (gestureTouches >= PROFILER_EXPORT_TOUCHES) {
+            exportProfile();
+        } else if (gestureTouches == PROFILER_TOGGLE_TOUCHES) {
+            toggleProfiler();
+        }
+        gestureTouches = 0;
+    }
+
+    private void toggleProfiler() {
+        renderer.toggleProfiler();
+        log.debug("profiler = " + renderer.isProfilerEnabled());
+    }
+
+    // almacenamiento local de la app en todas las plataformas, en Android sin permisos;
+    // la ruta absoluta queda en el log para sacarlo (adb pull / run-as)
+    private void exportProfile() {
+        FileHandle file = Gdx.files.local(PROFILER_EXPORT_DIR + "frames_" + TimeUtils.millis() + ".csv");
+        int frames = renderer.exportProfile(file);
+        log.debug("profiler export " + frames + " frames to " + file.file().getAbsolutePath());
+    }
+
     @Override
     public void resize(int width, int height) {
 
@@ -56,12 +285,17 @@ public class GameScreen implements Screen {
 
     @Override
     public void hide() {
+        Gdx.input.setInputProcessor(null);
         dispose();
     }
 
     @Override
     public void dispose() {
         log.debug("hide");
+        if (simulationThread != null) {
+            simulationThread.stop();
+        }
+        closeReplay();
         renderer.dispose();
     }
 
@@ -0,0 +1,305 @@
+package com.obstacleavoid.screen.game;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.obstacleavoid.config.GameConfig;
+import com.obstacleavoid.ecs.EcsWorld;
+import com.obstacleavoid.ecs.system.RenderSystem;
+import com.obstacleavoid.entity.ObstacleStore;
+import com.obstacleavoid.entity.Player;
+
+/**
+ * Lo que el GameRenderer necesita de un tick: posiciones actuales y anteriores (para
+ * interpolar), vidas y puntos. La rellena la simulacion y despues solo se lee, asi el
+ * render no toca el GameController aunque la simulacion vaya en otro hilo.
+ * Los arrays se reservan al crearla y solo crecen si hay mas obstaculos de los previstos.
+ * Al capturar, los obstaculos se ordenan por filas de altura GameConfig.COLLISION_CELL_SIZE
+ * (como la rejilla de colisiones); asi el render saca los visibles como un tramo seguido
+ * sin probarlos uno a uno.
+ */
+public class GameSnapshot {
+
+    private static final int INITIAL_CAPACITY = 256;
+    private static final float ROW_HEIGHT = GameConfig.COLLISION_CELL_SIZE;
+
+    private int tick;
+    private int lives;
+    private int score;
+    private int displayScore;
+    private int hits;
+    private int collisions;
+    private float collisionX;
+    private float collisionY;
+    private boolean gameOver;
+    // nanoTime del final del ultimo tick, para interpolar con la simulacion en otro hilo
+    private long tickNanos;
+    // coste de los ticks que ha producido esta captura
+    private long simulationNanos;
+
+    private float playerX;
+    private float playerY;
+    private float playerPreviousX;
+    private float playerPreviousY;
+    private float playerWidth;
+    private float playerHeight;
+    private float playerRadius;
+
+    private int obstacleCount;
+    private float[] obstacleX = new float[INITIAL_CAPACITY];
+    private float[] obstacleY = new float[INITIAL_CAPACITY];
+    private float[] obstaclePreviousY = new float[INITIAL_CAPACITY];
+    private float[] obstacleSize = new float[INITIAL_CAPACITY];
+    private float[] obstacleRadius = new float[INITIAL_CAPACITY];
+
+    // indices de obstaculo ordenados por fila; la fila r va de rowStart[r] a rowStart[r + 1]
+    private int[] rowOrder = new int[INITIAL_CAPACITY];
+    private int[] rowStart = new int[INITIAL_CAPACITY];
+    private int[] rowCursor = new int[INITIAL_CAPACITY];
+    private int rowCount;
+    private float rowOrigin;
+    // lo que un obstaculo puede salirse de su fila: tamano y movimiento del tick
+    private float obstacleMargin;
+
+    // en modo ECS los obstaculos llegan del RenderSystem
+    private final RenderSystem.Listener renderListener = new RenderSystem.Listener() {
+        @Override
+        public void begin(int count) {
+            ensureCapacity(count);
+            obstacleCount = 0;
+        }
+
+        @Override
+        public void sprite(float x, float y, float previousY, float size, float radius) {
+            int i = obstacleCount++;
+            obstacleX[i] = x;
+            obstacleY[i] = y;
+            obstaclePreviousY[i] = previousY;
+            obstacleSize[i] = size;
+            obstacleRadius[i] = radius;
+        }
+    };
+
+    void capture(GameController controller, long tickNanos, long simulationNanos) {
+        tick = controller.getTick();
+        lives = controller.getLives();
+        score = controller.getScore();
+        displayScore = controller.getDisplayScore();
+        hits = controller.getHits();
+        collisions = controller.getCollisions();
+        collisionX = controller.getCollisionX();
+        collisionY = controller.getCollisionY();
+        gameOver = controller.isGameOver();
+        this.tickNanos = tickNanos;
+        this.simulationNanos = simulationNanos;
+
+        Player player = controller.getPlayer();
+        playerX = player.getX();
+        playerY = player.getY();
+        playerPreviousX = player.getPreviousX();
+        playerPreviousY = player.getPreviousY();
+        playerWidth = player.getWidth();
+        playerHeight = player.getHeight();
+        playerRadius = player.getBounds().radius;
+
+        EcsWorld world = controller.getWorld();
+        if (world != null) {
+            world.getRenderSystem().extract(renderListener);
+        } else {
+            ObstacleStore obstacles = controller.getObstacles();
+            int size = obstacles.size();
+            ensureCapacity(size);
+            for (int n = 0; n < size; n++) {
+                int i = obstacles.index(n);
+                obstacleX[n] = obstacles.getX(i);
+                obstacleY[n] = obstacles.getY(i);
+                obstaclePreviousY[n] = obstacles.getPreviousY(i);
+                obstacleSize[n] = GameConfig.OBSTACLE_SIZE;
+                obstacleRadius[n] = obstacles.getRadius(i);
+            }
+            obstacleCount = size;
+        }
+        buildRows();
+    }
+
+    public int getTick() {
+        return tick;
+    }
+
+    public int getLives() {
+        return lives;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public int getDisplayScore() {
+        return displayScore;
+    }
+
+    public int getHits() {
+        return hits;
+    }
+
+    /**
+     * Choques desde el inicio de la partida, tambien en modo stress; cambia aunque se salten capturas.
+     */
+    public int getCollisions() {
+        return collisions;
+    }
+
+    public float getCollisionX() {
+        return collisionX;
+    }
+
+    public float getCollisionY() {
+        return collisionY;
+    }
+
+    public boolean isGameOver() {
+        return gameOver;
+    }
+
+    public long getTickNanos() {
+        return tickNanos;
+    }
+
+    public long getSimulationNanos() {
+        return simulationNanos;
+    }
+
+    public float getPlayerX(float alpha) {
+        return playerPreviousX + (playerX - playerPreviousX) * alpha;
+    }
+
+    public float getPlayerY(float alpha) {
+        return playerPreviousY + (playerY - playerPreviousY) * alpha;
+    }
+
+    public float getPlayerWidth() {
+        return playerWidth;
+    }
+
+    public float getPlayerHeight() {
+        return playerHeight;
+    }
+
+    public float getPlayerRadius() {
+        return playerRadius;
+    }
+
+    public int getObstacleCount() {
+        return obstacleCount;
+    }
+
+    public float getObstacleX(int index) {
+        return obstacleX[index];
+    }
+
+    public float getObstacleY(int index) {
+        return obstacleY[index];
+    }
+
+    public float getObstacleY(int index, float alpha) {
+        return obstaclePreviousY[index] + (obstacleY[index] - obstaclePreviousY[index]) * alpha;
+    }
+
+    public float getObstacleSize(int index) {
+        return obstacleSize[index];
+    }
+
+    public float getObstacleRadius(int index) {
+        return obstacleRadius[index];
+    }
+
+    /**
+     * Primera posicion (para getVisibleObstacle) de los obstaculos que pueden verse por encima de minY.
+     */
+    public int getVisibleStart(float minY) {
+        return rowStart[clampRow(MathUtils.floor((minY - obstacleMargin - rowOrigin) / ROW_HEIGHT))];
+    }
+
+    /**
+     * Posicion siguiente al ultimo obstaculo que puede verse por debajo de maxY.
+     */
+    public int getVisibleEnd(float maxY) {
+        return rowStart[clampRow(MathUtils.floor((maxY + obstacleMargin - rowOrigin) / ROW_HEIGHT) + 1)];
+    }
+
+    /**
+     * Indice del obstaculo en la posicion dada del orden por filas.
+     */
+    public int getVisibleObstacle(int position) {
+        return rowOrder[position];
+    }
+
+    /**
+     * Maximo que un obstaculo se sale de su x, y, contando tamano y movimiento del tick.
+     */
+    public float getObstacleMargin() {
+        return obstacleMargin;
+    }
+
+    // orden por filas con counting sort: dos pasadas y sin reservar memoria
+    private void buildRows() {
+        if (obstacleCount == 0) {
+            rowCount = 0;
+            rowStart[0] = 0;
+            obstacleMargin = 0;
+            return;
+        }
+
+        float minY = obstacleY[0];
+        float maxY = obstacleY[0];
+        float margin = 0;
+        for (int i = 0; i < obstacleCount; i++) {
+            float y = obstacleY[i];
+            minY = Math.min(minY, y);
+            maxY = Math.max(maxY, y);
+            float extent = Math.max(obstacleSize[i] / 2f, obstacleRadius[i]) + Math.abs(y - obstaclePreviousY[i]);
+            margin = Math.max(margin, extent);
+        }
+        obstacleMargin = margin;
+        rowOrigin = MathUtils.floor(minY);
+        rowCount = (int) ((maxY - rowOrigin) / ROW_HEIGHT) + 1;
+        if (rowCount + 1 > rowStart.length) {
+            int capacity = Math.max(rowCount + 1, rowStart.length * 2);
+            rowStart = new int[capacity];
+            rowCursor = new int[capacity];
+        }
+
+        for (int r = 0; r <= rowCount; r++) {
+            rowStart[r] = 0;
+        }
+        for (int i = 0; i < obstacleCount; i++) {
+            rowStart[row(obstacleY[i]) + 1]++;
+        }
+        for (int r = 0; r < rowCount; r++) {
+            rowStart[r + 1] += rowStart[r];
+            rowCursor[r] = rowStart[r];
+        }
+        for (int i = 0; i < obstacleCount; i++) {
+            rowOrder[rowCursor[row(obstacleY[i])]++] = i;
+        }
+    }
+
+    private int row(float y) {
+        return Math.min(rowCount - 1, (int) ((y - rowOrigin) / ROW_HEIGHT));
+    }
+
+    private int clampRow(int row) {
+        return Math.max(0, Math.min(rowCount, row));
+    }
+
+    private void ensureCapacity(int count) {
+        if (count <= obstacleX.length) {
+            return;
+        }
+        int capacity = Math.max(count, obstacleX.length * 2);
+        obstacleX = new float[capacity];
+        obstacleY = new float[capacity];
+        obstaclePreviousY = new float[capacity];
+        obstacleSize = new float[capacity];
+        obstacleRadius = new float[capacity];
+        rowOrder = new int[capacity];
+    }
+}
@@ -0,0 +1,188 @@
+package com.obstacleavoid.screen.game;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Mesh;
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.VertexAttributes;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.graphics.glutils.VertexBufferObject;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.utils.Disposable;
+
+import java.nio.FloatBuffer;
+
+/**
+ * Dibuja todos los obstaculos en un solo Mesh y una sola llamada de dibujo. Por obstaculo
+ * solo se suben el centro y el tamano; las esquinas del quad estan en un VBO estatico y el
+ * shader las escala y calcula las coordenadas de textura. GLES2 no tiene instancing, asi que
+ * el centro y el tamano se repiten en los cuatro vertices.
+ */
+public class ObstacleRenderer implements Disposable {
+
+    private static final String CENTER_ATTRIBUTE = "a_center";
+    private static final String SIZE_ATTRIBUTE = "a_size";
+    private static final String CORNER_ATTRIBUTE = "a_corner";
+
+    // x, y del centro y tamano
+    private static final int FLOATS_PER_VERTEX = 3;
+    private static final int FLOATS_PER_OBSTACLE = 4 * FLOATS_PER_VERTEX;
+    // los indices son short sin signo
+    private static final int MAX_CAPACITY = 65536 / 4;
+
+    private static final String VERTEX_SHADER = ""
+            + "attribute vec2 " + CENTER_ATTRIBUTE + ";\n"
+            + "attribute float " + SIZE_ATTRIBUTE + ";\n"
+            + "attribute vec2 " + CORNER_ATTRIBUTE + ";\n"
+            + "uniform mat4 u_projTrans;\n"
+            + "uniform vec4 u_region;\n"
+            + "varying vec2 v_texCoords;\n"
+            + "void main() {\n"
+            + "    vec2 t = " + CORNER_ATTRIBUTE + " + 0.5;\n"
+            // v es la parte de arriba de la region, v2 la de abajo
+            + "    v_texCoords = vec2(mix(u_region.x, u_region.z, t.x), mix(u_region.w, u_region.y, t.y));\n"
+            + "    vec2 position = " + CENTER_ATTRIBUTE + " + " + CORNER_ATTRIBUTE + " * " + SIZE_ATTRIBUTE + ";\n"
+            + "    gl_Position = u_projTrans * vec4(position, 0.0, 1.0);\n"
+            + "}\n";
+
+    private static final String FRAGMENT_SHADER = ""
+            + "#ifdef GL_ES\n"
+            + "precision mediump float;\n"
+            + "#endif\n"
+            + "varying vec2 v_texCoords;\n"
+            + "uniform sampler2D u_texture;\n"
+            + "void main() {\n"
+            + "    gl_FragColor = texture2D(u_texture, v_texCoords);\n"
+            + "}\n";
+
+    private final TextureRegion region;
+    private final int capacity;
+    private final Mesh mesh;
+    private final VertexBufferObject corners;
+    private final ShaderProgram shader;
+    private final float[] vertices;
+
+    private int count;
+    private boolean drawing;
+
+    public ObstacleRenderer(TextureRegion region, int capacity) {
+        if (capacity < 1 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("capacity must be between 1 and " + MAX_CAPACITY);
+        }
+        this.region = region;
+        this.capacity = capacity;
+        vertices = new float[capacity * FLOATS_PER_OBSTACLE];
+
+        // VBO normal y no VAO: las esquinas se enlazan desde otro buffer
+        mesh = new Mesh(Mesh.VertexDataType.VertexBufferObject, false, capacity * 4, capacity * 6,
+                new VertexAttribute(VertexAttributes.Usage.Position, 2, CENTER_ATTRIBUTE),
+                new VertexAttribute(VertexAttributes.Usage.Generic, 1, SIZE_ATTRIBUTE));
+        mesh.setIndices(createIndices(capacity));
+
+        corners = new VertexBufferObject(true, capacity * 4,
+                new VertexAttribute(VertexAttributes.Usage.Generic, 2, CORNER_ATTRIBUTE));
+        corners.setVertices(createCorners(capacity), 0, capacity * 4 * 2);
+
+        shader = new ShaderProgram(VERTEX_SHADER, FRAGMENT_SHADER);
+        if (!shader.isCompiled()) {
+            throw new IllegalStateException("Error compiling obstacle shader: " + shader.getLog());
+        }
+    }
+
+    public void begin(Matrix4 projection) {
+        if (drawing) {
+            throw new IllegalStateException("end() must be called before begin()");
+        }
+        drawing = true;
+        count = 0;
+
+        Gdx.gl.glEnable(GL20.GL_BLEND);
+        Gdx.gl.glBlendFunc(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+        region.getTexture().bind(0);
+        shader.begin();
+        shader.setUniformMatrix("u_projTrans", projection);
+        shader.setUniformi("u_texture", 0);
+        shader.setUniformf("u_region", region.getU(), region.getV(), region.getU2(), region.getV2());
+    }
+
+    /**
+     * Obstaculo cuadrado de lado size centrado en x, y.
+     */
+    public void draw(float x, float y, float size) {
+        if (count == capacity) {
+            flush();
+        }
+        int index = count * FLOATS_PER_OBSTACLE;
+        for (int corner = 0; corner < 4; corner++) {
+            vertices[index++] = x;
+            vertices[index++] = y;
+            vertices[index++] = size;
+        }
+        count++;
+    }
+
+    public void end() {
+        if (!drawing) {
+            throw new IllegalStateException("begin() must be called before end()");
+        }
+        flush();
+        shader.end();
+        Gdx.gl.glDisable(GL20.GL_BLEND);
+        drawing = false;
+    }
+
+    private void flush() {
+        if (count == 0) {
+            return;
+        }
+        // el buffer del VBO se reutiliza; se sube entero al enlazarlo
+        FloatBuffer buffer = mesh.getVerticesBuffer();
+        buffer.clear();
+        buffer.put(vertices, 0, count * FLOATS_PER_OBSTACLE);
+        buffer.flip();
+
+        mesh.bind(shader);
+        corners.bind(shader);
+        mesh.render(shader, GL20.GL_TRIANGLES, 0, count * 6, false);
+        corners.unbind(shader);
+        mesh.unbind(shader);
+        count = 0;
+    }
+
+    private static short[] createIndices(int capacity) {
+        short[] indices = new short[capacity * 6];
+        for (int i = 0, vertex = 0; i < indices.length; i += 6, vertex += 4) {
+            indices[i] = (short) vertex;
+            indices[i + 1] = (short) (vertex + 1);
+            indices[i + 2] = (short) (vertex + 2);
+            indices[i + 3] = (short) (vertex + 2);
+            indices[i + 4] = (short) (vertex + 3);
+            indices[i + 5] = (short) vertex;
+        }
+        return indices;
+    }
+
+    // esquinas de un quad de lado 1 centrado en el origen, repetidas para cada obstaculo
+    private static float[] createCorners(int capacity) {
+        float[] corners = new float[capacity * 4 * 2];
+        for (int i = 0; i < corners.length; i += 8) {
+            corners[i] = -0.5f;
+            corners[i + 1] = -0.5f;
+            corners[i + 2] = 0.5f;
+            corners[i + 3] = -0.5f;
+            corners[i + 4] = 0.5f;
+            corners[i + 5] = 0.5f;
+            corners[i + 6] = -0.5f;
+            corners[i + 7] = 0.5f;
+        }
+        return corners;
+    }
+
+    @Override
+    public void dispose() {
+        mesh.dispose();
+        corners.dispose();
+        shader.dispose();
+    }
+}
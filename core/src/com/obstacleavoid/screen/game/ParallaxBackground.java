@@ -0,0 +1,157 @@
+package com.obstacleavoid.screen.game;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Mesh;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+
+/**
+ * Fondo con varias capas que se desplazan a distinta velocidad. Cada capa es el mismo quad
+ * estatico con otra textura: el desplazamiento solo cambia las coordenadas de textura en el
+ * shader, la CPU no toca vertices. El shader repite la textura con fract(), asi funciona
+ * tambien con texturas que no son potencia de dos (en GLES2 no admiten Repeat).
+ * El desplazamiento lo lleva el fondo y no la partida, no salta al reiniciarla.
+ */
+public class ParallaxBackground implements Disposable {
+
+    private static class Layer {
+        final Texture texture;
+        // copias de la textura por segundo
+        final float speed;
+        final float alpha;
+        final boolean additive;
+        // veces que se repite la textura en el quad, en ancho y alto
+        final float repeatU;
+        final float repeatV;
+        float offsetU;
+        float offsetV;
+
+        Layer(Texture texture, float speed, float alpha, boolean additive, float repeatU, float repeatV, float offsetU) {
+            this.texture = texture;
+            this.speed = speed;
+            this.alpha = alpha;
+            this.additive = additive;
+            this.repeatU = repeatU;
+            this.repeatV = repeatV;
+            this.offsetU = offsetU;
+        }
+    }
+
+    private static final String VERTEX_SHADER = ""
+            + "attribute vec4 " + ShaderProgram.POSITION_ATTRIBUTE + ";\n"
+            + "attribute vec2 " + ShaderProgram.TEXCOORD_ATTRIBUTE + "0;\n"
+            + "uniform mat4 u_projTrans;\n"
+            + "uniform vec2 u_repeat;\n"
+            + "uniform vec2 u_offset;\n"
+            + "varying vec2 v_texCoords;\n"
+            + "void main() {\n"
+            + "    v_texCoords = " + ShaderProgram.TEXCOORD_ATTRIBUTE + "0 * u_repeat + u_offset;\n"
+            + "    gl_Position = u_projTrans * " + ShaderProgram.POSITION_ATTRIBUTE + ";\n"
+            + "}\n";
+
+    private static final String FRAGMENT_SHADER = ""
+            + "#ifdef GL_ES\n"
+            + "precision mediump float;\n"
+            + "#endif\n"
+            + "varying vec2 v_texCoords;\n"
+            + "uniform sampler2D u_texture;\n"
+            + "uniform float u_alpha;\n"
+            + "void main() {\n"
+            + "    vec4 color = texture2D(u_texture, fract(v_texCoords));\n"
+            + "    gl_FragColor = vec4(color.rgb, color.a * u_alpha);\n"
+            + "}\n";
+
+    private final float width;
+    private final float height;
+    private final Mesh quad;
+    private final ShaderProgram shader;
+    private final Array<Layer> layers = new Array<Layer>();
+
+    public ParallaxBackground(float x, float y, float width, float height) {
+        this.width = width;
+        this.height = height;
+
+        // v = 0 es la parte de arriba de la textura
+        quad = new Mesh(true, 4, 0, VertexAttribute.Position(), VertexAttribute.TexCoords(0));
+        quad.setVertices(new float[]{
+                x, y, 0, 0, 1,
+                x + width, y, 0, 1, 1,
+                x + width, y + height, 0, 1, 0,
+                x, y + height, 0, 0, 0
+        });
+
+        shader = new ShaderProgram(VERTEX_SHADER, FRAGMENT_SHADER);
+        if (!shader.isCompiled()) {
+            throw new IllegalStateException("Error compiling parallax shader: " + shader.getLog());
+        }
+    }
+
+    /**
+     * Las capas se dibujan en el orden en que se anaden, la primera es la del fondo.
+     *
+     * @param tileHeight alto en unidades de mundo de una copia de la textura, el ancho
+     *                   sale de su proporcion
+     * @param speed      unidades de mundo por segundo, hacia abajo
+     * @param additive   suma su color al de las capas de detras en lugar de taparlas
+     * @param offsetU    desplazamiento horizontal inicial, para que dos capas con la misma
+     *                   textura no coincidan
+     */
+    public void addLayer(Texture texture, float tileHeight, float speed, float alpha, boolean additive, float offsetU) {
+        if (tileHeight <= 0) {
+            throw new IllegalArgumentException("tileHeight must be > 0");
+        }
+        if (MathUtils.isPowerOfTwo(texture.getWidth()) && MathUtils.isPowerOfTwo(texture.getHeight())) {
+            // con Repeat el filtrado tambien mezcla el borde con el lado opuesto
+            texture.setWrap(Texture.TextureWrap.Repeat, Texture.TextureWrap.Repeat);
+        }
+        float tileWidth = tileHeight * texture.getWidth() / texture.getHeight();
+        layers.add(new Layer(texture, speed / tileHeight, alpha, additive,
+                width / tileWidth, height / tileHeight, offsetU));
+    }
+
+    public void update(float delta) {
+        for (int i = 0; i < layers.size; i++) {
+            Layer layer = layers.get(i);
+            // el contenido baja; el desplazamiento se mantiene en [0, 1) para no perder precision
+            layer.offsetV -= layer.speed * delta;
+            layer.offsetV -= (float) Math.floor(layer.offsetV);
+        }
+    }
+
+    public void render(Matrix4 projection) {
+        shader.begin();
+        shader.setUniformMatrix("u_projTrans", projection);
+        shader.setUniformi("u_texture", 0);
+        for (int i = 0; i < layers.size; i++) {
+            Layer layer = layers.get(i);
+            if (layer.additive) {
+                Gdx.gl.glEnable(GL20.GL_BLEND);
+                Gdx.gl.glBlendFunc(GL20.GL_SRC_ALPHA, GL20.GL_ONE);
+            } else if (layer.alpha < 1f) {
+                Gdx.gl.glEnable(GL20.GL_BLEND);
+                Gdx.gl.glBlendFunc(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+            } else {
+                Gdx.gl.glDisable(GL20.GL_BLEND);
+            }
+            layer.texture.bind(0);
+            shader.setUniformf("u_repeat", layer.repeatU, layer.repeatV);
+            shader.setUniformf("u_offset", layer.offsetU, layer.offsetV);
+            shader.setUniformf("u_alpha", layer.alpha);
+            quad.render(shader, GL20.GL_TRIANGLE_FAN);
+        }
+        shader.end();
+        Gdx.gl.glDisable(GL20.GL_BLEND);
+    }
+
+    @Override
+    public void dispose() {
+        quad.dispose();
+        shader.dispose();
+    }
+}
@@ -0,0 +1,92 @@
+package com.obstacleavoid.screen.game;
+
+/**
+ * Elige la escala de la resolucion interna de la partida a partir del tiempo de frame.
+ * Baja un nivel en cuanto la media pasa del presupuesto y sube solo tras un rato por
+ * debajo (histeresis). Si una subida acaba en otra bajada, la siguiente espera el doble,
+ * asi no oscila entre dos niveles. Con vsync el frame nunca baja del presupuesto, por eso
+ * subir es probar y no esperar a que sobre tiempo.
+ */
+public class RenderScaleController {
+
+    private static final float[] SCALES = {1f, 0.85f, 0.7f, 0.6f, 0.5f};
+
+    private static final float SMOOTHING = 0.1f;
+    // un tiron aislado (GC, carga) no debe bajar la calidad
+    private static final float MAX_SAMPLE_BUDGETS = 4f;
+    private static final float DOWN_THRESHOLD = 1.15f;
+    private static final float UP_THRESHOLD = 1.05f;
+    // tras un cambio, tiempo para que la media refleje la nueva escala
+    private static final float SETTLE_SECONDS = 0.5f;
+    private static final float MIN_UP_DELAY = 2f;
+    private static final float MAX_UP_DELAY = 16f;
+    // una bajada tan pronto tras subir cuenta como subida fallida
+    private static final float PROBE_SECONDS = 5f;
+
+    private final float budget;
+    private int level;
+    private float average = -1;
+    private float sinceChange;
+    private float underBudgetTime;
+    private float upDelay = MIN_UP_DELAY;
+    private boolean lastChangeUp;
+
+    /**
+     * @param budgetSeconds tiempo de frame objetivo, p. ej. 1/60
+     */
+    public RenderScaleController(float budgetSeconds) {
+        if (budgetSeconds <= 0) {
+            throw new IllegalArgumentException("budgetSeconds must be > 0");
+        }
+        budget = budgetSeconds;
+    }
+
+    /**
+     * @return true si ha cambiado la escala
+     */
+    public boolean update(float frameSeconds) {
+        float sample = Math.min(frameSeconds, budget * MAX_SAMPLE_BUDGETS);
+        average = average < 0 ? sample : average * (1 - SMOOTHING) + sample * SMOOTHING;
+        sinceChange += frameSeconds;
+        if (sinceChange < SETTLE_SECONDS) {
+            return false;
+        }
+
+        if (average > budget * DOWN_THRESHOLD) {
+            underBudgetTime = 0;
+            if (level == SCALES.length - 1) {
+                return false;
+            }
+            // la ultima subida no se sostuvo: la proxima espera mas
+            boolean failedProbe = lastChangeUp && sinceChange < PROBE_SECONDS;
+            upDelay = failedProbe ? Math.min(upDelay * 2, MAX_UP_DELAY) : MIN_UP_DELAY;
+            return change(level + 1, false);
+        }
+
+        if (average <= budget * UP_THRESHOLD) {
+            underBudgetTime += frameSeconds;
+        } else {
+            underBudgetTime = 0;
+        }
+        if (level > 0 && underBudgetTime >= upDelay) {
+            return change(level - 1, true);
+        }
+        return false;
+    }
+
+    public float getScale() {
+        return SCALES[level];
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    private boolean change(int newLevel, boolean up) {
+        level = newLevel;
+        lastChangeUp = up;
+        sinceChange = 0;
+        underBudgetTime = 0;
+        return true;
+    }
+}
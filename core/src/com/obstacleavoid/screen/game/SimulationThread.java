@@ -0,0 +1,124 @@
+package com.obstacleavoid.screen.game;
+
+import com.badlogic.gdx.utils.Logger;
+import com.badlogic.gdx.utils.TimeUtils;
+import com.obstacleavoid.config.GameConfig;
+import com.obstacleavoid.input.InputLatencyTracker;
+import com.obstacleavoid.replay.RewindBuffer;
+import com.obstacleavoid.util.TripleBuffer;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hilo propio para la simulacion: el mismo paso fijo que GameScreen.render, pero con su
+ * reloj. Tras cada grupo de ticks publica una GameSnapshot en el TripleBuffer y el hilo
+ * GL dibuja la ultima sin esperar. Desde que arranca, el GameController y el RewindBuffer
+ * solo se tocan en este hilo; el rebobinado se pide y se hace al inicio de la vuelta.
+ */
+public class SimulationThread implements Runnable {
+
+    private static final Logger log = new Logger(SimulationThread.class.getName(), Logger.DEBUG);
+
+    private static final long TICK_NANOS = (long) (GameConfig.FIXED_DELTA * 1000000000L);
+
+    private final GameController controller;
+    private final RewindBuffer rewindBuffer;
+    private final TripleBuffer<GameSnapshot> snapshots;
+    private final InputLatencyTracker latencyTracker;
+    // ticks a rebobinar pedidos desde el hilo GL, 0 si no hay peticion
+    private final AtomicInteger rewindTicks = new AtomicInteger();
+    private volatile boolean running;
+    private Thread thread;
+
+    /**
+     * @param latencyTracker puede ser null; si no, sabe en que tick se aplico cada evento
+     */
+    public SimulationThread(GameController controller, RewindBuffer rewindBuffer, TripleBuffer<GameSnapshot> snapshots,
+                            InputLatencyTracker latencyTracker) {
+        this.controller = controller;
+        this.rewindBuffer = rewindBuffer;
+        this.snapshots = snapshots;
+        this.latencyTracker = latencyTracker;
+    }
+
+    public void start() {
+        if (thread != null) {
+            throw new IllegalStateException("simulation thread already started");
+        }
+        running = true;
+        thread = new Thread(this, "simulation");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Para el hilo y espera a que termine; despues el GameController vuelve a ser del llamador.
+     */
+    public void stop() {
+        if (thread == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        thread = null;
+    }
+
+    public void requestRewind(int ticksBack) {
+        rewindTicks.set(ticksBack);
+    }
+
+    @Override
+    public void run() {
+        long previous = TimeUtils.nanoTime();
+        long accumulator = 0;
+        while (running) {
+            long now = TimeUtils.nanoTime();
+            accumulator += Math.min(now - previous, TICK_NANOS * GameConfig.MAX_STEPS_PER_FRAME);
+            previous = now;
+
+            int ticksBack = rewindTicks.getAndSet(0);
+            if (ticksBack > 0) {
+                int tick = rewindBuffer.rewind(controller, ticksBack);
+                log.debug("rewind to tick " + tick);
+                publish(now - accumulator, 0);
+            }
+
+            int steps = 0;
+            while (accumulator >= TICK_NANOS && steps < GameConfig.MAX_STEPS_PER_FRAME) {
+                rewindBuffer.record(controller);
+                controller.update(GameConfig.FIXED_DELTA);
+                accumulator -= TICK_NANOS;
+                steps++;
+            }
+            if (steps == GameConfig.MAX_STEPS_PER_FRAME) {
+                accumulator %= TICK_NANOS;
+            }
+            if (steps > 0) {
+                publish(now - accumulator, TimeUtils.nanoTime() - now);
+            }
+            if (controller.isGameOver()) {
+                // la ultima captura ya lleva el fin de partida, GameScreen cambia de pantalla
+                break;
+            }
+
+            long sleep = TICK_NANOS - accumulator - (TimeUtils.nanoTime() - now);
+            if (sleep > 0) {
+                LockSupport.parkNanos(sleep);
+            }
+        }
+    }
+
+    private void publish(long tickNanos, long simulationNanos) {
+        if (latencyTracker != null) {
+            latencyTracker.simulated(controller.getTick());
+        }
+        snapshots.getWriteBuffer().capture(controller, tickNanos, simulationNanos);
+        snapshots.publish();
+    }
+}
@@ -47,6 +47,9 @@ public class LoadingScreen extends ScreenAdapter {
 
         assetManager.load(AssetDescriptors.FONT);
         assetManager.load(AssetDescriptors.GAME_PLAY);
+        assetManager.load(AssetDescriptors.SPACE_BACKGROUND);
+        assetManager.load(AssetDescriptors.EXPLOSION_EFFECT);
+        assetManager.load(AssetDescriptors.TRAIL_EFFECT);
         assetManager.load(AssetDescriptors.UI);
         assetManager.load(AssetDescriptors.UI_SKIN);
     }
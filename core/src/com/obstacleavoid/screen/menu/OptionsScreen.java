@@ -39,6 +39,7 @@ public class OptionsScreen extends MenuScreenBase {
     private CheckBox easy;
     private CheckBox medium;
     private CheckBox hard;
+    private CheckBox stress;
 
     public OptionsScreen(ObstacleAvoidGame game) {
         super(game);
@@ -61,9 +62,10 @@ public class OptionsScreen extends MenuScreenBase {
         easy = checkBox(DifficultyLevel.EASY.name(), uiSkin);
         medium = checkBox(DifficultyLevel.MEDIUM.name(), uiSkin);
         hard = checkBox(DifficultyLevel.HARD.name(), uiSkin);
+        stress = checkBox(DifficultyLevel.STRESS.name(), uiSkin);
 
         //checkbox para indicar la dificultad del juego
-        checkBoxGroup = new ButtonGroup<CheckBox>(easy, medium, hard);
+        checkBoxGroup = new ButtonGroup<CheckBox>(easy, medium, hard, stress);
         final DifficultyLevel difficultyLevel = GameManager.INSTANCE.getDifficultyLevel();
         checkBoxGroup.setChecked(difficultyLevel.name());
         // boton de volver al menu para jugar
@@ -84,6 +86,7 @@ public class OptionsScreen extends MenuScreenBase {
         easy.addListener(listener);
         medium.addListener(listener);
         hard.addListener(listener);
+        stress.addListener(listener);
 
         // tabla de configuracion
         Table contentTable = new Table(uiSkin);
@@ -93,6 +96,7 @@ public class OptionsScreen extends MenuScreenBase {
         contentTable.add(easy).row();
         contentTable.add(medium).row();
         contentTable.add(hard).row();
+        contentTable.add(stress).row();
         contentTable.add(backButton);
 
         table.add(contentTable);
@@ -111,7 +115,7 @@ public class OptionsScreen extends MenuScreenBase {
         TextureRegion region = atlas.findRegion(regioName);
         return new ImageButton(new TextureRegionDrawable(region));
     }
-//tipos de dificultad (facil,medio ,dificil)
+//tipos de dificultad (facil,medio ,dificil, stress)
     private void difficultyChage() {
         log.debug("difficultyChage()");
         CheckBox checked = checkBoxGroup.getChecked();
@@ -125,6 +129,9 @@ public class OptionsScreen extends MenuScreenBase {
         } else if (checked == hard) {
             log.debug("hard");
             GameManager.INSTANCE.updateDifficulty(DifficultyLevel.HARD);
+        } else if (checked == stress) {
+            log.debug("stress");
+            GameManager.INSTANCE.updateDifficulty(DifficultyLevel.STRESS);
         }
     }
 
@@ -0,0 +1,118 @@
+package com.obstacleavoid.spawn;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.JsonReader;
+import com.badlogic.gdx.utils.JsonValue;
+import com.obstacleavoid.config.GameConfig;
+
+import java.io.Reader;
+
+/**
+ * Convierte un fichero de patron (json) en un SpawnPattern. Cada paso genera uno o varios eventos:
+ * <ul>
+ * <li>spawn: un obstaculo en x, o en una x aleatoria si no se indica</li>
+ * <li>wall: una fila entera con un hueco centrado en gap de ancho gapWidth</li>
+ * <li>wave: count obstaculos cada interval segundos siguiendo un seno (turns vueltas)</li>
+ * <li>sweep: count obstaculos cada interval segundos en linea recta de from a to</li>
+ * </ul>
+ * Los tiempos son segundos desde el inicio del patron y las x van de 0 a 1.
+ */
+public class PatternCompiler {
+
+    private static final String NAME = "name";
+    private static final String DURATION = "duration";
+    private static final String STEPS = "steps";
+    private static final String TYPE = "type";
+    private static final String TIME = "time";
+
+    private final JsonReader reader = new JsonReader();
+    private final FloatArray times = new FloatArray();
+    private final FloatArray xs = new FloatArray();
+
+    public SpawnPattern compile(Reader source) {
+        JsonValue root = reader.parse(source);
+        String name = root.getString(NAME, "");
+        float duration = root.getFloat(DURATION);
+        if (duration <= 0) {
+            throw new GdxRuntimeException("Pattern " + name + ": duration must be > 0");
+        }
+
+        times.clear();
+        xs.clear();
+        for (JsonValue step = root.get(STEPS).child; step != null; step = step.next) {
+            compileStep(name, step);
+        }
+        sort();
+        // el siguiente patron empieza en duration, la tabla del scheduler tiene que seguir ordenada
+        if (times.size > 0 && times.peek() > duration) {
+            throw new GdxRuntimeException("Pattern " + name + ": events after duration " + duration);
+        }
+        return new SpawnPattern(name, duration, times.toArray(), xs.toArray());
+    }
+
+    private void compileStep(String name, JsonValue step) {
+        String type = step.getString(TYPE);
+        float time = step.getFloat(TIME, 0f);
+
+        if ("spawn".equals(type)) {
+            add(time, step.getFloat("x", SpawnPattern.RANDOM_X));
+        } else if ("wall".equals(type)) {
+            float gap = step.getFloat("gap");
+            float gapWidth = step.getFloat("gapWidth");
+            // un obstaculo por cada hueco del ancho de un obstaculo, salvo los que caen en el hueco
+            int count = (int) (GameConfig.WORLD_WIDTH / GameConfig.OBSTACLE_SIZE);
+            for (int i = 0; i < count; i++) {
+                float x = count == 1 ? 0 : i / (float) (count - 1);
+                if (Math.abs(x - gap) > gapWidth / 2f) {
+                    add(time, x);
+                }
+            }
+        } else if ("wave".equals(type)) {
+            int count = step.getInt("count");
+            float interval = step.getFloat("interval");
+            float turns = step.getFloat("turns", 1f);
+            float center = step.getFloat("center", 0.5f);
+            float amplitude = step.getFloat("amplitude", 0.5f);
+            for (int i = 0; i < count; i++) {
+                float angle = MathUtils.PI2 * turns * i / count;
+                add(time + i * interval, center + amplitude * MathUtils.sin(angle));
+            }
+        } else if ("sweep".equals(type)) {
+            int count = step.getInt("count");
+            float interval = step.getFloat("interval");
+            float from = step.getFloat("from", 0f);
+            float to = step.getFloat("to", 1f);
+            for (int i = 0; i < count; i++) {
+                float progress = count == 1 ? 0 : i / (float) (count - 1);
+                add(time + i * interval, from + (to - from) * progress);
+            }
+        } else {
+            throw new GdxRuntimeException("Pattern " + name + ": unknown step type " + type);
+        }
+    }
+
+    private void add(float time, float x) {
+        times.add(time);
+        xs.add(x == SpawnPattern.RANDOM_X ? x : MathUtils.clamp(x, 0f, 1f));
+    }
+
+    // insercion estable, los patrones tienen pocos eventos y casi siempre ya van en orden
+    private void sort() {
+        float[] t = times.items;
+        float[] x = xs.items;
+        for (int i = 1; i < times.size; i++) {
+            float time = t[i];
+            float value = x[i];
+            int j = i - 1;
+            while (j >= 0 && t[j] > time) {
+                t[j + 1] = t[j];
+                x[j + 1] = x[j];
+                j--;
+            }
+            t[j + 1] = time;
+            x[j + 1] = value;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.obstacleavoid.spawn;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.JsonReader;
+import com.badlogic.gdx.utils.JsonValue;
+import com.badlogic.gdx.utils.Logger;
+import com.badlogic.gdx.utils.StreamUtils;
+
+import java.io.Reader;
+
+/**
+ * Patrones listados en un indice (patterns.json). Al crearla solo se lee el indice,
+ * cada patron se compila la primera vez que se pide y se guarda compilado.
+ */
+public class PatternLibrary {
+
+    // sin backend (headless) no hay Gdx.app donde escribir el log
+    private static final Logger log = new Logger(PatternLibrary.class.getName(), Gdx.app != null ? Logger.DEBUG : Logger.NONE);
+
+    private static final String PATTERNS = "patterns";
+
+    private final FileHandle[] files;
+    private final SpawnPattern[] patterns;
+    private final PatternCompiler compiler = new PatternCompiler();
+
+    /**
+     * @param index fichero con la lista de patrones, rutas relativas a su carpeta
+     */
+    public PatternLibrary(FileHandle index) {
+        JsonValue root = new JsonReader().parse(index);
+        JsonValue list = root.get(PATTERNS);
+        files = new FileHandle[list.size];
+        int i = 0;
+        for (JsonValue entry = list.child; entry != null; entry = entry.next) {
+            files[i++] = index.sibling(entry.asString());
+        }
+        patterns = new SpawnPattern[files.length];
+    }
+
+    public int size() {
+        return files.length;
+    }
+
+    public SpawnPattern get(int index) {
+        SpawnPattern pattern = patterns[index];
+        if (pattern == null) {
+            Reader reader = files[index].reader("UTF-8");
+            try {
+                pattern = compiler.compile(reader);
+            } finally {
+                StreamUtils.closeQuietly(reader);
+            }
+            patterns[index] = pattern;
+            log.debug("compiled " + files[index].name() + " events = " + pattern.size());
+        }
+        return pattern;
+    }
+}
@@ -0,0 +1,42 @@
+package com.obstacleavoid.spawn;
+
+/**
+ * Patron compilado: eventos de aparicion ordenados por tiempo, en arrays paralelos.
+ * Las x van de 0 (izquierda) a 1 (derecha), o RANDOM_X para elegirla al aparecer.
+ */
+public class SpawnPattern {
+
+    public static final float RANDOM_X = -1f;
+
+    private final String name;
+    private final float duration;
+    private final float[] times;
+    private final float[] xs;
+
+    SpawnPattern(String name, float duration, float[] times, float[] xs) {
+        this.name = name;
+        this.duration = duration;
+        this.times = times;
+        this.xs = xs;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public float getDuration() {
+        return duration;
+    }
+
+    public int size() {
+        return times.length;
+    }
+
+    public float getTime(int index) {
+        return times[index];
+    }
+
+    public float getX(int index) {
+        return xs[index];
+    }
+}
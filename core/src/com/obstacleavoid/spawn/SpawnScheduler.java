@@ -0,0 +1,124 @@
+package com.obstacleavoid.spawn;
+
+import com.badlogic.gdx.math.RandomXS128;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Tabla de eventos de aparicion ordenada por tiempo con un cursor: cada tick solo avanza
+ * el cursor, sin leer ficheros ni reservar memoria. Cuando quedan menos de LOOKAHEAD segundos
+ * de eventos se anade el siguiente patron (elegido con el generador de la partida, asi que
+ * es determinista) y se compacta la tabla, de modo que una sesion larga no la hace crecer.
+ */
+public class SpawnScheduler {
+
+    public interface Listener {
+        /**
+         * @param x de 0 a 1, o SpawnPattern.RANDOM_X
+         */
+        void spawn(float x);
+    }
+
+    private static final float LOOKAHEAD = 2f;
+    private static final int DEFAULT_CAPACITY = 64;
+
+    private final PatternLibrary library;
+    private final RandomXS128 random;
+    private float[] times = new float[DEFAULT_CAPACITY];
+    private float[] xs = new float[DEFAULT_CAPACITY];
+    private int size;
+    private int cursor;
+    private float clock;
+    // fin del ultimo patron anadido
+    private float end;
+
+    public SpawnScheduler(PatternLibrary library, RandomXS128 random) {
+        if (library.size() == 0) {
+            throw new IllegalArgumentException("library has no patterns");
+        }
+        this.library = library;
+        this.random = random;
+    }
+
+    public void update(float delta, Listener listener) {
+        clock += delta;
+        while (end - clock < LOOKAHEAD) {
+            append(library.get(random.nextInt(library.size())));
+        }
+        while (cursor < size && times[cursor] <= clock) {
+            listener.spawn(xs[cursor]);
+            cursor++;
+        }
+    }
+
+    /**
+     * Eventos pendientes, reloj y fin del ultimo patron: con esto la partida se puede restaurar.
+     */
+    public void write(ByteBuffer buffer) {
+        buffer.putFloat(clock);
+        buffer.putFloat(end);
+        buffer.putInt(size - cursor);
+        for (int i = cursor; i < size; i++) {
+            buffer.putFloat(times[i]);
+            buffer.putFloat(xs[i]);
+        }
+    }
+
+    public void read(ByteBuffer buffer) {
+        clock = buffer.getFloat();
+        end = buffer.getFloat();
+        int count = buffer.getInt();
+        ensureCapacity(count);
+        for (int i = 0; i < count; i++) {
+            times[i] = buffer.getFloat();
+            xs[i] = buffer.getFloat();
+        }
+        size = count;
+        cursor = 0;
+    }
+
+    public int getStateSize() {
+        return 3 * 4 + (size - cursor) * 2 * 4;
+    }
+
+    public int getPendingCount() {
+        return size - cursor;
+    }
+
+    private void append(SpawnPattern pattern) {
+        compact();
+        ensureCapacity(size + pattern.size());
+        for (int i = 0, count = pattern.size(); i < count; i++) {
+            times[size] = end + pattern.getTime(i);
+            xs[size] = pattern.getX(i);
+            size++;
+        }
+        end += pattern.getDuration();
+    }
+
+    // descarta los eventos ya lanzados y pone el reloj a 0 para no perder precision en sesiones largas
+    private void compact() {
+        int count = size - cursor;
+        for (int i = 0; i < count; i++) {
+            times[i] = times[cursor + i] - clock;
+            xs[i] = xs[cursor + i];
+        }
+        end -= clock;
+        clock = 0;
+        size = count;
+        cursor = 0;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= times.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, times.length * 2);
+        float[] newTimes = new float[newCapacity];
+        float[] newXs = new float[newCapacity];
+        System.arraycopy(times, 0, newTimes, 0, size);
+        System.arraycopy(xs, 0, newXs, 0, size);
+        times = newTimes;
+        xs = newXs;
+    }
+}
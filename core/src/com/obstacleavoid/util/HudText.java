@@ -0,0 +1,93 @@
+package com.obstacleavoid.util;
+
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.BitmapFontCache;
+import com.badlogic.gdx.utils.Align;
+import com.badlogic.gdx.utils.StringBuilder;
+
+/**
+ * Texto del HUD con un prefijo fijo y un valor entero. Los vertices de los glifos se guardan
+ * en un BitmapFontCache que solo se rehace cuando cambia el valor; el resto de frames dibujar
+ * es copiar los vertices. Los digitos se escriben en un buffer reutilizable, sin basura.
+ */
+public class HudText {
+
+    private static final int[] POWERS_OF_TEN = {1, 10, 100, 1000, 10000};
+
+    private final BitmapFontCache cache;
+    private final StringBuilder text = new StringBuilder(32);
+    private final int prefixLength;
+
+    private String suffix = "";
+    private int decimals;
+    private float x;
+    private float y;
+    private float targetWidth;
+    private int align = Align.left;
+
+    private int value;
+    private boolean dirty = true;
+
+    public HudText(BitmapFont font, String prefix) {
+        cache = new BitmapFontCache(font, font.usesIntegerPositions());
+        text.append(prefix);
+        prefixLength = prefix.length();
+    }
+
+    /**
+     * @param targetWidth ancho en el que se alinea el texto, 0 para alinear a la izquierda en x
+     */
+    public void setPosition(float x, float y, float targetWidth, int align) {
+        this.x = x;
+        this.y = y;
+        this.targetWidth = targetWidth;
+        this.align = align;
+        dirty = true;
+    }
+
+    /**
+     * El valor se muestra en coma fija: con decimals = 1, 123 se muestra como 12.3.
+     */
+    public void setFormat(int decimals, String suffix) {
+        if (decimals < 0 || decimals >= POWERS_OF_TEN.length) {
+            throw new IllegalArgumentException("decimals must be between 0 and " + (POWERS_OF_TEN.length - 1));
+        }
+        this.decimals = decimals;
+        this.suffix = suffix;
+        dirty = true;
+    }
+
+    public void setValue(int value) {
+        if (value == this.value && !dirty) {
+            return;
+        }
+        this.value = value;
+        dirty = false;
+
+        text.setLength(prefixLength);
+        format(text, value, decimals);
+        text.append(suffix);
+        cache.setText(text, x, y, targetWidth, align, false);
+    }
+
+    public void draw(Batch batch) {
+        cache.draw(batch);
+    }
+
+    /**
+     * Escribe value (no negativo) en coma fija con decimals cifras decimales, sin crear objetos.
+     */
+    public static void format(StringBuilder out, int value, int decimals) {
+        out.append(value / POWERS_OF_TEN[decimals]);
+        appendFraction(out, value % POWERS_OF_TEN[decimals], decimals);
+    }
+
+    private static void appendFraction(StringBuilder out, int fraction, int decimals) {
+        if (decimals == 0) {
+            return;
+        }
+        out.append('.');
+        out.append(fraction, decimals, '0');
+    }
+}
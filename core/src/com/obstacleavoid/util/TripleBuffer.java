@@ -0,0 +1,52 @@
+package com.obstacleavoid.util;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Intercambio sin bloqueos entre un hilo que escribe y otro que lee. Hay tres buffers:
+ * uno del escritor, uno del lector y uno listo entre los dos. Publicar y leer son un
+ * getAndSet atomico; ninguno espera al otro y el lector siempre ve lo ultimo publicado.
+ */
+public class TripleBuffer<T> {
+
+    private static final int INDEX_MASK = 3;
+    // el buffer listo tiene datos que el lector aun no ha cogido
+    private static final int FRESH = 4;
+
+    private final Object[] buffers;
+    private final AtomicInteger ready = new AtomicInteger(1);
+    // cada indice solo lo toca su hilo
+    private int writeIndex = 0;
+    private int readIndex = 2;
+
+    public TripleBuffer(T first, T second, T third) {
+        if (first == null || second == null || third == null) {
+            throw new IllegalArgumentException("buffers are required");
+        }
+        buffers = new Object[]{first, second, third};
+    }
+
+    /**
+     * Buffer que puede rellenar el escritor hasta llamar a publish().
+     */
+    @SuppressWarnings("unchecked")
+    public T getWriteBuffer() {
+        return (T) buffers[writeIndex];
+    }
+
+    public void publish() {
+        writeIndex = ready.getAndSet(writeIndex | FRESH) & INDEX_MASK;
+    }
+
+    /**
+     * Lo ultimo publicado; si no hay nada nuevo, lo mismo que en la llamada anterior.
+     * El buffer es del lector hasta la siguiente llamada.
+     */
+    @SuppressWarnings("unchecked")
+    public T getReadBuffer() {
+        if ((ready.get() & FRESH) != 0) {
+            readIndex = ready.getAndSet(readIndex) & INDEX_MASK;
+        }
+        return (T) buffers[readIndex];
+    }
+}
@@ -1,7 +1,10 @@
 package com.obstacleavoid.util;
 
+import com.badlogic.gdx.graphics.Camera;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.math.Vector3;
 import com.badlogic.gdx.utils.Logger;
 import com.badlogic.gdx.utils.viewport.Viewport;
 
@@ -10,6 +13,7 @@ public class ViewportUtils {
     private static final Logger log = new Logger(ViewportUtils.class.getName(), Logger.DEBUG);
 
     private static final int DEFAULT_CELL_SIZE = 1;
+    private static final Color OLD_COLOR = new Color();
 
 
     public static void drawGrid(Viewport viewport, ShapeRenderer renderer) {
@@ -31,7 +35,7 @@ public class ViewportUtils {
         }
 
         //copiar color del render
-        Color oldColor = new Color(renderer.getColor());
+        Color oldColor = OLD_COLOR.set(renderer.getColor());
 
         int worldWidth = (int) viewport.getWorldWidth();
         int worldHeight = (int) viewport.getWorldHeight();
@@ -68,6 +72,25 @@ public class ViewportUtils {
         renderer.setColor(oldColor);
     }
 
+    /**
+     * Rectangulo que ve la camara, en unidades de mundo, a partir de las esquinas de su frustum.
+     * Con la camara girada es el rectangulo que lo contiene.
+     */
+    public static Rectangle getVisibleBounds(Camera camera, Rectangle out) {
+        Vector3[] corners = camera.frustum.planePoints;
+        float minX = corners[0].x;
+        float maxX = corners[0].x;
+        float minY = corners[0].y;
+        float maxY = corners[0].y;
+        for (int i = 1; i < corners.length; i++) {
+            minX = Math.min(minX, corners[i].x);
+            maxX = Math.max(maxX, corners[i].x);
+            minY = Math.min(minY, corners[i].y);
+            maxY = Math.max(maxY, corners[i].y);
+        }
+        return out.set(minX, minY, maxX - minX, maxY - minY);
+    }
+
     public static void debugPixelPerUnit(Viewport viewport) {
         if (viewport == null) {
             throw new IllegalArgumentException("viewport param is required");
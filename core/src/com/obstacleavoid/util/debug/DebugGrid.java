@@ -0,0 +1,133 @@
+package com.obstacleavoid.util.debug;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Mesh;
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.VertexAttributes;
+import com.badlogic.gdx.graphics.glutils.ImmediateModeRenderer20;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Disposable;
+
+/**
+ * La rejilla de ViewportUtils.drawGrid en un Mesh estatico: las lineas se suben a la GPU
+ * una vez al crearla. Las verticales van ordenadas por x y las horizontales por y, asi las
+ * visibles son un tramo seguido de vertices y se dibujan sin recorrer las demas.
+ */
+public class DebugGrid implements Disposable {
+
+    private static final int DEFAULT_CELL_SIZE = 1;
+    // x, y y color empaquetado
+    private static final int FLOATS_PER_VERTEX = 3;
+
+    // ejes y bordes, al final del mesh
+    private static final int FIXED_VERTICES = 4 * 2;
+
+    private final Mesh mesh;
+    private final ShaderProgram shader;
+    private final int cellSize;
+    private final int doubleWidth;
+    private final int doubleHeight;
+    private final int verticalLines;
+    private final int horizontalLines;
+
+    private float[] vertices;
+    private int vertexIndex;
+
+    public DebugGrid(float worldWidth, float worldHeight) {
+        this(worldWidth, worldHeight, DEFAULT_CELL_SIZE);
+    }
+
+    public DebugGrid(float worldWidth, float worldHeight, int cellSize) {
+        if (cellSize < DEFAULT_CELL_SIZE) {
+            cellSize = DEFAULT_CELL_SIZE;
+        }
+
+        this.cellSize = cellSize;
+        int width = (int) worldWidth;
+        int height = (int) worldHeight;
+        doubleWidth = width * 2;
+        doubleHeight = height * 2;
+
+        verticalLines = (2 * doubleWidth + cellSize - 1) / cellSize;
+        horizontalLines = (2 * doubleHeight + cellSize - 1) / cellSize;
+        // rejilla, cruz de los ejes y bordes de la pantalla
+        int vertexCount = (verticalLines + horizontalLines + 4) * 2;
+        vertices = new float[vertexCount * FLOATS_PER_VERTEX];
+
+        float white = Color.WHITE.toFloatBits();
+        for (int x = -doubleWidth; x < doubleWidth; x += cellSize) {
+            line(x, -doubleHeight, x, doubleHeight, white);
+        }
+        for (int y = -doubleHeight; y < doubleHeight; y += cellSize) {
+            line(-doubleWidth, y, doubleWidth, y, white);
+        }
+
+        float red = Color.RED.toFloatBits();
+        line(0, -doubleHeight, 0, doubleHeight, red);
+        line(-doubleWidth, 0, doubleWidth, 0, red);
+
+        float green = Color.GREEN.toFloatBits();
+        line(0, height, width, height, green);
+        line(width, 0, width, height, green);
+
+        mesh = new Mesh(true, vertexIndex / FLOATS_PER_VERTEX, 0,
+                new VertexAttribute(VertexAttributes.Usage.Position, 2, ShaderProgram.POSITION_ATTRIBUTE),
+                VertexAttribute.ColorPacked());
+        mesh.setVertices(vertices, 0, vertexIndex);
+        vertices = null;
+
+        shader = ImmediateModeRenderer20.createDefaultShader(false, true, 0);
+    }
+
+    /**
+     * Solo las lineas que cruzan view (zona visible en unidades de mundo), mas ejes y bordes.
+     */
+    public void render(Matrix4 projection, Rectangle view) {
+        int firstVertical = firstLine(view.x, doubleWidth);
+        int lastVertical = lastLine(view.x + view.width, doubleWidth, verticalLines);
+        int firstHorizontal = firstLine(view.y, doubleHeight);
+        int lastHorizontal = lastLine(view.y + view.height, doubleHeight, horizontalLines);
+
+        shader.begin();
+        shader.setUniformMatrix("u_projModelView", projection);
+        mesh.bind(shader);
+        if (firstVertical <= lastVertical) {
+            mesh.render(shader, GL20.GL_LINES, firstVertical * 2, (lastVertical - firstVertical + 1) * 2, false);
+        }
+        if (firstHorizontal <= lastHorizontal) {
+            int offset = verticalLines * 2;
+            mesh.render(shader, GL20.GL_LINES, offset + firstHorizontal * 2, (lastHorizontal - firstHorizontal + 1) * 2, false);
+        }
+        mesh.render(shader, GL20.GL_LINES, (verticalLines + horizontalLines) * 2, FIXED_VERTICES, false);
+        mesh.unbind(shader);
+        shader.end();
+    }
+
+    // la linea k esta en -doubleSize + k * cellSize
+    private int firstLine(float min, int doubleSize) {
+        return Math.max(0, MathUtils.ceil((min + doubleSize) / cellSize));
+    }
+
+    private int lastLine(float max, int doubleSize, int lines) {
+        return Math.min(lines - 1, MathUtils.floor((max + doubleSize) / cellSize));
+    }
+
+    private void line(float x1, float y1, float x2, float y2, float color) {
+        vertices[vertexIndex++] = x1;
+        vertices[vertexIndex++] = y1;
+        vertices[vertexIndex++] = color;
+        vertices[vertexIndex++] = x2;
+        vertices[vertexIndex++] = y2;
+        vertices[vertexIndex++] = color;
+    }
+
+    @Override
+    public void dispose() {
+        mesh.dispose();
+        shader.dispose();
+    }
+}
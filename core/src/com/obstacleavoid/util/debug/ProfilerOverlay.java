@@ -0,0 +1,187 @@
+package com.obstacleavoid.util.debug;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.graphics.profiling.GLProfiler;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.utils.Align;
+import com.obstacleavoid.util.HudText;
+
+/**
+ * Contadores de GL por frame (llamadas de dibujo, texturas, cambios de shader, vertices)
+ * y grafica del tiempo de frame. Mientras esta apagado el GLProfiler tambien lo esta y
+ * no cuesta nada. Guarda los ultimos HISTORY frames para exportarlos a CSV.
+ */
+public class ProfilerOverlay {
+
+    private static final int HISTORY = 240;
+    private static final float TARGET_FRAME_MILLIS = 1000f / 60f;
+    // la grafica llega hasta tres frames de 60 Hz
+    private static final float GRAPH_MAX_MILLIS = 3 * TARGET_FRAME_MILLIS;
+    private static final String CSV_HEADER = "frame,frameMs,drawCalls,textureBindings,shaderSwitches,vertices,glCalls";
+
+    private final GLProfiler profiler;
+
+    // historial circular, un valor por frame
+    private final float[] frameMillis = new float[HISTORY];
+    private final int[] drawCalls = new int[HISTORY];
+    private final int[] textureBindings = new int[HISTORY];
+    private final int[] shaderSwitches = new int[HISTORY];
+    private final int[] vertices = new int[HISTORY];
+    private final int[] glCalls = new int[HISTORY];
+    private int head;
+    private int size;
+    private long frame;
+
+    private final HudText drawCallsText;
+    private final HudText textureBindingsText;
+    private final HudText shaderSwitchesText;
+    private final HudText verticesText;
+    private final HudText frameText;
+
+    private final float graphX;
+    private final float graphY;
+    private final float graphWidth;
+    private final float graphHeight;
+
+    /**
+     * La grafica ocupa el rectangulo x, y, width, height en coordenadas del HUD y el texto va encima.
+     */
+    public ProfilerOverlay(BitmapFont font, float x, float y, float width, float height) {
+        profiler = new GLProfiler(Gdx.graphics);
+        graphX = x;
+        graphY = y;
+        graphWidth = width;
+        graphHeight = height;
+
+        float lineHeight = font.getLineHeight();
+        float textY = y + height + lineHeight * 5;
+        drawCallsText = createText(font, "DRAWS: ", x, textY);
+        textureBindingsText = createText(font, "BINDS: ", x, textY - lineHeight);
+        shaderSwitchesText = createText(font, "SHADERS: ", x, textY - 2 * lineHeight);
+        verticesText = createText(font, "VERTS: ", x, textY - 3 * lineHeight);
+        frameText = createText(font, "FRAME: ", x, textY - 4 * lineHeight);
+        frameText.setFormat(1, " ms");
+    }
+
+    public void setEnabled(boolean enabled) {
+        if (enabled == profiler.isEnabled()) {
+            return;
+        }
+        if (enabled) {
+            profiler.enable();
+            profiler.reset();
+        } else {
+            profiler.disable();
+        }
+    }
+
+    public boolean isEnabled() {
+        return profiler.isEnabled();
+    }
+
+    /**
+     * Al final del frame: guarda los contadores, dibuja la capa y pone los contadores a cero,
+     * asi lo que dibuja la propia capa no se cuenta.
+     */
+    public void render(float delta, SpriteBatch batch, ShapeRenderer renderer, Matrix4 projection) {
+        sample(delta);
+
+        renderer.setProjectionMatrix(projection);
+        renderer.begin(ShapeRenderer.ShapeType.Filled);
+        drawGraph(renderer);
+        renderer.end();
+
+        int latest = (head + size - 1) % HISTORY;
+        batch.setProjectionMatrix(projection);
+        batch.begin();
+        drawCallsText.setValue(drawCalls[latest]);
+        drawCallsText.draw(batch);
+        textureBindingsText.setValue(textureBindings[latest]);
+        textureBindingsText.draw(batch);
+        shaderSwitchesText.setValue(shaderSwitches[latest]);
+        shaderSwitchesText.draw(batch);
+        verticesText.setValue(vertices[latest]);
+        verticesText.draw(batch);
+        frameText.setValue((int) (frameMillis[latest] * 10));
+        frameText.draw(batch);
+        batch.end();
+
+        profiler.reset();
+    }
+
+    /**
+     * Escribe el historial en CSV, del frame mas antiguo al mas reciente.
+     *
+     * @return frames exportados
+     */
+    public int export(FileHandle file) {
+        StringBuilder csv = new StringBuilder(CSV_HEADER.length() + size * 48);
+        csv.append(CSV_HEADER).append('\n');
+        long firstFrame = frame - size;
+        for (int n = 0; n < size; n++) {
+            int i = (head + n) % HISTORY;
+            csv.append(firstFrame + n).append(',')
+                    .append(frameMillis[i]).append(',')
+                    .append(drawCalls[i]).append(',')
+                    .append(textureBindings[i]).append(',')
+                    .append(shaderSwitches[i]).append(',')
+                    .append(vertices[i]).append(',')
+                    .append(glCalls[i]).append('\n');
+        }
+        file.writeString(csv.toString(), false);
+        return size;
+    }
+
+    private void sample(float delta) {
+        int index;
+        if (size < HISTORY) {
+            index = (head + size) % HISTORY;
+            size++;
+        } else {
+            index = head;
+            head = (head + 1) % HISTORY;
+        }
+        frameMillis[index] = delta * 1000f;
+        drawCalls[index] = profiler.getDrawCalls();
+        textureBindings[index] = profiler.getTextureBindings();
+        shaderSwitches[index] = profiler.getShaderSwitches();
+        vertices[index] = (int) profiler.getVertexCount().total;
+        glCalls[index] = profiler.getCalls();
+        frame++;
+    }
+
+    // una barra por frame, verde hasta 60 Hz, amarilla hasta 30 Hz y roja por encima
+    private void drawGraph(ShapeRenderer renderer) {
+        float barWidth = graphWidth / HISTORY;
+        float scale = graphHeight / GRAPH_MAX_MILLIS;
+        for (int n = 0; n < size; n++) {
+            float millis = frameMillis[(head + n) % HISTORY];
+            if (millis <= TARGET_FRAME_MILLIS) {
+                renderer.setColor(Color.GREEN);
+            } else if (millis <= 2 * TARGET_FRAME_MILLIS) {
+                renderer.setColor(Color.YELLOW);
+            } else {
+                renderer.setColor(Color.RED);
+            }
+            renderer.rect(graphX + n * barWidth, graphY, barWidth, Math.min(millis, GRAPH_MAX_MILLIS) * scale);
+        }
+
+        // lineas de 60 y 30 Hz
+        renderer.setColor(Color.WHITE);
+        renderer.rectLine(graphX, graphY + TARGET_FRAME_MILLIS * scale,
+                graphX + graphWidth, graphY + TARGET_FRAME_MILLIS * scale, 1f);
+        renderer.rectLine(graphX, graphY + 2 * TARGET_FRAME_MILLIS * scale,
+                graphX + graphWidth, graphY + 2 * TARGET_FRAME_MILLIS * scale, 1f);
+    }
+
+    private static HudText createText(BitmapFont font, String prefix, float x, float y) {
+        HudText text = new HudText(font, prefix);
+        text.setPosition(x, y, 0, Align.left);
+        return text;
+    }
+}
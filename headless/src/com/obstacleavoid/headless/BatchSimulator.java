@@ -0,0 +1,105 @@
+package com.obstacleavoid.headless;
+
+import com.badlogic.gdx.math.RandomXS128;
+import com.obstacleavoid.ai.BotPlayerInput;
+import com.obstacleavoid.collision.BroadphaseType;
+import com.obstacleavoid.config.DifficultyLevel;
+import com.obstacleavoid.config.GameConfig;
+import com.obstacleavoid.screen.game.GameController;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Simula miles de partidas con semilla en todos los nucleos (fork-join) y muestra
+ * la distribucion de puntuacion y supervivencia por dificultad, para ajustar GameConfig.
+ * Uso: BatchSimulator [partidas] [semilla] [maxSegundos]
+ */
+public class BatchSimulator {
+
+    private static final int DEFAULT_GAMES = 10000;
+    private static final long DEFAULT_SEED = 1L;
+    private static final int DEFAULT_MAX_SECONDS = 600;
+
+    private static final int GAMES_PER_TASK = 64;
+
+    public static void main(String[] args) {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_GAMES;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : DEFAULT_SEED;
+        int maxSeconds = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_MAX_SECONDS;
+        long maxTicks = (long) maxSeconds * GameConfig.TICKS_PER_SECOND;
+
+        ForkJoinPool pool = new ForkJoinPool();
+        System.out.println("games = " + games + " seed = " + seed + " threads = " + pool.getParallelism());
+
+        for (DifficultyLevel difficultyLevel : DifficultyLevel.values()) {
+            if (difficultyLevel.isStress()) {
+                // no hay game over por golpes, no sirve para ajustar la dificultad
+                continue;
+            }
+            long start = System.nanoTime();
+            GameStats stats = pool.invoke(new SimulationTask(difficultyLevel, seed, 0, games, maxTicks));
+            long elapsed = System.nanoTime() - start;
+
+            System.out.println(difficultyLevel + " (" + elapsed / 1000000 + " ms) " + stats);
+        }
+        pool.shutdown();
+    }
+
+    /**
+     * Partida con semilla seed, termina en game over o al llegar a maxTicks.
+     */
+    public static void simulate(DifficultyLevel difficultyLevel, long seed, long maxTicks, GameStats stats) {
+        BotPlayerInput bot = new BotPlayerInput();
+        GameController controller = new GameController(bot, difficultyLevel,
+                BroadphaseType.SPATIAL_HASH, new RandomXS128(seed));
+        bot.setController(controller);
+
+        long ticks = 0;
+        while (!controller.isGameOver() && ticks < maxTicks) {
+            controller.update(GameConfig.FIXED_DELTA);
+            ticks++;
+        }
+        stats.record(controller.getScore(), ticks);
+    }
+
+    private static class SimulationTask extends RecursiveTask<GameStats> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final DifficultyLevel difficultyLevel;
+        private final long seed;
+        private final int from;
+        private final int to;
+        private final long maxTicks;
+
+        SimulationTask(DifficultyLevel difficultyLevel, long seed, int from, int to, long maxTicks) {
+            this.difficultyLevel = difficultyLevel;
+            this.seed = seed;
+            this.from = from;
+            this.to = to;
+            this.maxTicks = maxTicks;
+        }
+
+        @Override
+        protected GameStats compute() {
+            if (to - from <= GAMES_PER_TASK) {
+                GameStats stats = new GameStats();
+                for (int game = from; game < to; game++) {
+                    simulate(difficultyLevel, seed + game, maxTicks, stats);
+                }
+                return stats;
+            }
+
+            int middle = (from + to) >>> 1;
+            SimulationTask left = new SimulationTask(difficultyLevel, seed, from, middle, maxTicks);
+            SimulationTask right = new SimulationTask(difficultyLevel, seed, middle, to, maxTicks);
+            left.fork();
+            GameStats rightStats = right.compute();
+            return left.join().merge(rightStats);
+        }
+    }
+
+    private BatchSimulator() {
+    }
+}
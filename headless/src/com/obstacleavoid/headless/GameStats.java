@@ -0,0 +1,49 @@
+package com.obstacleavoid.headless;
+
+import com.obstacleavoid.config.GameConfig;
+import com.obstacleavoid.util.Histogram;
+
+/**
+ * Distribucion de puntuacion y supervivencia (en ticks) de un lote de partidas.
+ */
+public class GameStats {
+
+    private final Histogram scores = new Histogram();
+    private final Histogram survivalTicks = new Histogram();
+
+    public void record(int score, long ticks) {
+        scores.record(score);
+        survivalTicks.record(ticks);
+    }
+
+    public GameStats merge(GameStats other) {
+        scores.merge(other.scores);
+        survivalTicks.merge(other.survivalTicks);
+        return this;
+    }
+
+    public Histogram getScores() {
+        return scores;
+    }
+
+    public Histogram getSurvivalTicks() {
+        return survivalTicks;
+    }
+
+    @Override
+    public String toString() {
+        return "games = " + scores.getTotalCount() + System.getProperty("line.separator")
+                + "  score     " + describe(scores, 1) + System.getProperty("line.separator")
+                + "  survival  " + describe(survivalTicks, GameConfig.TICKS_PER_SECOND) + " (s)";
+    }
+
+    private static String describe(Histogram histogram, float divisor) {
+        return String.format("mean=%.1f p10=%.1f p50=%.1f p90=%.1f p99=%.1f max=%.1f",
+                histogram.getMean() / divisor,
+                histogram.getValueAtPercentile(10) / divisor,
+                histogram.getValueAtPercentile(50) / divisor,
+                histogram.getValueAtPercentile(90) / divisor,
+                histogram.getValueAtPercentile(99) / divisor,
+                histogram.getMax() / divisor);
+    }
+}
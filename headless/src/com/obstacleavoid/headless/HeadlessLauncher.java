@@ -0,0 +1,70 @@
+package com.obstacleavoid.headless;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.math.RandomXS128;
+import com.obstacleavoid.collision.BroadphaseType;
+import com.obstacleavoid.common.GameManager;
+import com.obstacleavoid.config.DifficultyLevel;
+import com.obstacleavoid.config.GameConfig;
+import com.obstacleavoid.config.SimulationMode;
+import com.obstacleavoid.input.PlayerInput;
+import com.obstacleavoid.input.ScriptedPlayerInput;
+import com.obstacleavoid.screen.game.GameController;
+import com.obstacleavoid.spawn.PatternLibrary;
+import com.obstacleavoid.spawn.SpawnScheduler;
+
+/**
+ * Ejecuta el GameController en una JVM sin ventana ni contexto GL.
+ * Uso: HeadlessLauncher [ticks] [EASY|MEDIUM|HARD] [CLASSIC|ECS] [ruta de patterns.json]
+ */
+public class HeadlessLauncher {
+
+    private static final long DEFAULT_TICKS = 10000000L;
+
+    public static void main(String[] args) {
+        long ticks = args.length > 0 ? Long.parseLong(args[0]) : DEFAULT_TICKS;
+        DifficultyLevel difficultyLevel = args.length > 1 ? DifficultyLevel.valueOf(args[1]) : DifficultyLevel.MEDIUM;
+        SimulationMode simulationMode = args.length > 2 ? SimulationMode.valueOf(args[2]) : SimulationMode.CLASSIC;
+        // sin backend no hay Gdx.files, la ruta es absoluta o relativa al directorio de trabajo
+        PatternLibrary patterns = args.length > 3 ? new PatternLibrary(new FileHandle(args[3])) : null;
+
+        GameManager.INSTANCE.init(new MemoryPreferences());
+
+        PlayerInput input = new ScriptedPlayerInput(
+                PlayerInput.LEFT, PlayerInput.LEFT, PlayerInput.NONE,
+                PlayerInput.RIGHT, PlayerInput.RIGHT, PlayerInput.NONE);
+        RandomXS128 random = new RandomXS128();
+        GameController controller = newController(input, difficultyLevel, random, simulationMode, patterns);
+        int games = 1;
+
+        long start = System.nanoTime();
+        for (long tick = 0; tick < ticks; tick++) {
+            controller.update(GameConfig.FIXED_DELTA);
+
+            if (controller.isGameOver()) {
+                GameManager.INSTANCE.updateHighScore(controller.getScore());
+                controller = newController(input, difficultyLevel, random, simulationMode, patterns);
+                games++;
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        double seconds = elapsed / 1e9;
+        System.out.println("difficulty = " + difficultyLevel + " mode = " + simulationMode);
+        System.out.println("ticks = " + ticks + " games = " + games);
+        System.out.println("ticks/s = " + (long) (ticks / seconds));
+        System.out.println("highscore = " + GameManager.INSTANCE.getHighScoreKey());
+    }
+
+    private static GameController newController(PlayerInput input, DifficultyLevel difficultyLevel, RandomXS128 random,
+                                                SimulationMode simulationMode, PatternLibrary patterns) {
+        GameController controller = new GameController(input, difficultyLevel, BroadphaseType.SPATIAL_HASH, random, simulationMode);
+        if (patterns != null) {
+            controller.setSpawnScheduler(new SpawnScheduler(patterns, random));
+        }
+        return controller;
+    }
+
+    private HeadlessLauncher() {
+    }
+}
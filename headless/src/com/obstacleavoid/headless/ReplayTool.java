@@ -0,0 +1,107 @@
+package com.obstacleavoid.headless;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.obstacleavoid.ai.BotPlayerInput;
+import com.obstacleavoid.config.DifficultyLevel;
+import com.obstacleavoid.config.GameConfig;
+import com.obstacleavoid.config.SimulationMode;
+import com.obstacleavoid.replay.ReplayPlayer;
+import com.obstacleavoid.replay.ReplayRecorder;
+import com.obstacleavoid.screen.game.GameController;
+import com.obstacleavoid.spawn.PatternLibrary;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+
+/**
+ * Graba y reproduce repeticiones sin ventana.
+ * Uso: ReplayTool record fichero [semilla] [EASY|MEDIUM|HARD] [maxTicks] [CLASSIC|ECS] [ruta de patterns.json]
+ *      ReplayTool verify fichero [ruta de patterns.json]
+ *      ReplayTool seek fichero tick [ruta de patterns.json]
+ * Las repeticiones grabadas con patrones necesitan la misma libreria para reproducirse.
+ */
+public class ReplayTool {
+
+    private static final int DEFAULT_MAX_TICKS = 60 * 60 * GameConfig.TICKS_PER_SECOND;
+
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.out.println("usage: ReplayTool record|verify|seek file [args]");
+            return;
+        }
+        File file = new File(args[1]);
+        if ("record".equals(args[0])) {
+            long seed = args.length > 2 ? Long.parseLong(args[2]) : System.nanoTime();
+            DifficultyLevel difficultyLevel = args.length > 3 ? DifficultyLevel.valueOf(args[3]) : DifficultyLevel.MEDIUM;
+            int maxTicks = args.length > 4 ? Integer.parseInt(args[4]) : DEFAULT_MAX_TICKS;
+            SimulationMode simulationMode = args.length > 5 ? SimulationMode.valueOf(args[5]) : SimulationMode.CLASSIC;
+            record(file, seed, difficultyLevel, maxTicks, simulationMode, patterns(args, 6));
+        } else if ("verify".equals(args[0])) {
+            verify(file, patterns(args, 2));
+        } else if ("seek".equals(args[0])) {
+            seek(file, Integer.parseInt(args[2]), patterns(args, 3));
+        }
+    }
+
+    // sin backend no hay Gdx.files, la ruta es absoluta o relativa al directorio de trabajo
+    private static PatternLibrary patterns(String[] args, int index) {
+        return args.length > index ? new PatternLibrary(new FileHandle(args[index])) : null;
+    }
+
+    private static void record(File file, long seed, DifficultyLevel difficultyLevel, int maxTicks,
+                               SimulationMode simulationMode, PatternLibrary patterns) {
+        BotPlayerInput bot = new BotPlayerInput();
+        ReplayRecorder recorder = new ReplayRecorder(file, bot, difficultyLevel, seed, simulationMode, patterns);
+        GameController controller = recorder.getController();
+        bot.setController(controller);
+
+        while (!controller.isGameOver() && controller.getTick() < maxTicks) {
+            controller.update(GameConfig.FIXED_DELTA);
+        }
+        recorder.close();
+        System.out.println("recorded " + file + " seed = " + seed + " ticks = " + controller.getTick()
+                + " score = " + controller.getScore() + " bytes = " + file.length());
+    }
+
+    private static void verify(File file, PatternLibrary patterns) {
+        ReplayPlayer player = new ReplayPlayer(file, patterns);
+        GameController controller = player.getController();
+        long start = System.nanoTime();
+        while (!controller.isGameOver() && !player.isFinished()) {
+            player.update(GameConfig.FIXED_DELTA);
+        }
+        long elapsed = System.nanoTime() - start;
+        System.out.println("replayed " + player.getSimulationMode() + (player.hasPatternSpawns() ? " with patterns " : " ")
+                + controller.getTick() + "/" + player.getTotalTicks() + " ticks in "
+                + elapsed / 1000000 + " ms, score = " + controller.getScore()
+                + ", keyframes checked = " + player.getKeyframesChecked()
+                + ", mismatches = " + player.getKeyframeMismatches());
+    }
+
+    private static void seek(File file, int tick, PatternLibrary patterns) {
+        ReplayPlayer seeking = new ReplayPlayer(file, patterns);
+        long start = System.nanoTime();
+        seeking.seek(tick);
+        long elapsed = System.nanoTime() - start;
+
+        // misma posicion reproduciendo desde el principio
+        ReplayPlayer linear = new ReplayPlayer(file, patterns);
+        while (linear.getController().getTick() < tick && !linear.getController().isGameOver()) {
+            linear.update(GameConfig.FIXED_DELTA);
+        }
+
+        boolean same = state(seeking.getController()).equals(state(linear.getController()));
+        System.out.println("seek to " + seeking.getController().getTick() + " in " + elapsed / 1000 + " us, "
+                + (same ? "matches" : "DIFFERS FROM") + " linear playback");
+    }
+
+    private static ByteBuffer state(GameController controller) {
+        ByteBuffer buffer = ByteBuffer.allocate(controller.getStateSize());
+        controller.writeState(buffer);
+        buffer.flip();
+        return buffer;
+    }
+
+    private ReplayTool() {
+    }
+}